@@ -0,0 +1,22 @@
+package dataStructures.ADTS;
+
+/**
+ * HeuristicADT defines the interface to an estimate of the distance between two vertices of a network,
+ * used to guide an A* search towards its target.
+ *
+ * An estimate must never be larger than the weight of the shortest path between the two vertices,
+ * and for every edge (u, v) the estimate from u must not exceed the weight of the edge plus the estimate from v.
+ * With such an estimate an A* search returns a shortest path.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public interface HeuristicADT<T> {
+    /**
+     * Returns a lower bound of the weight of the shortest path between two vertices.
+     *
+     * @param vertex the vertex the path starts at
+     * @param target the vertex the path ends at
+     * @return the estimated weight of the shortest path
+     */
+    public double estimate(T vertex, T target);
+}
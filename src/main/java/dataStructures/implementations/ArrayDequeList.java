@@ -0,0 +1,421 @@
+package dataStructures.implementations;
+
+import dataStructures.exceptions.EmptyCollectionException;
+import dataStructures.exceptions.NoSuchElementException;
+import dataStructures.ADTS.UnorderedListADT;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * ArrayDequeList is an unordered list stored in a circular array.
+ *
+ * The elements occupy a run of the array that may wrap around its end, so adding or removing at either end
+ * only moves the start or the end of the run: {@link #addToFront}, {@link #addToRear}, {@link #removeFirst}
+ * and {@link #removeLast} take amortized O(1) time, where {@link ArrayUnorderedList} shifts the whole array
+ * for the front. Elements are read by position in O(1), and adding after or removing an element in the
+ * middle shifts only the shorter side of the run.
+ *
+ * @param <T> the type of elements stored in the list
+ */
+public class ArrayDequeList<T> implements UnorderedListADT<T>, Iterable<T> {
+    /**
+     * The default initial capacity of the list.
+     */
+    private final static int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The circular array used to store the elements of the list.
+     */
+    private T[] list;
+
+    /**
+     * The position in the array of the first element.
+     */
+    private int front;
+
+    /**
+     * The current number of elements in the list.
+     */
+    private int size;
+
+    /**
+     * The modification count, used to track changes to the list.
+     */
+    private int modCount;
+
+    /**
+     * Default constructor that initializes the list with a default capacity.
+     */
+    public ArrayDequeList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the list with a specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     */
+    public ArrayDequeList(int initialCapacity) {
+        this.list = (T[]) new Object[Math.max(initialCapacity, 1)];
+        this.front = 0;
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element the element to be added to the front of the list
+     * @throws IllegalArgumentException if the element is null
+     */
+    @Override
+    public void addToFront(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        if (size == list.length) {
+            expandCapacity();
+        }
+        front = (front - 1 + list.length) % list.length;
+        list[front] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element the element to be added to the rear of the list
+     * @throws IllegalArgumentException if the element is null
+     */
+    @Override
+    public void addToRear(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        if (size == list.length) {
+            expandCapacity();
+        }
+        list[slot(size)] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element after the target element in this list.
+     *
+     * @param element the element to be added
+     * @param target the target element after which the new element will be added
+     * @throws IllegalArgumentException if the element or target is null
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the target element is not found
+     */
+    @Override
+    public void addAfter(T element, T target) throws EmptyCollectionException, NoSuchElementException {
+        if (element == null || target == null) {
+            throw new IllegalArgumentException("Element or target cannot be null");
+        }
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        int index = indexOf(target);
+        if (index == -1) {
+            throw new NoSuchElementException();
+        }
+
+        if (size == list.length) {
+            expandCapacity();
+        }
+
+        int position = index + 1;
+        if (position < size - position) {
+            // open the gap by moving the elements before it one step back
+            front = (front - 1 + list.length) % list.length;
+            for (int i = 0; i < position; i++) {
+                list[slot(i)] = list[slot(i + 1)];
+            }
+        } else {
+            for (int i = size; i > position; i--) {
+                list[slot(i)] = list[slot(i - 1)];
+            }
+        }
+        list[slot(position)] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * @return the first element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        T removed = list[front];
+        list[front] = null;
+        front = (front + 1) % list.length;
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * @return the last element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        int last = slot(size - 1);
+        T removed = list[last];
+        list[last] = null;
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the specified element from the list and returns it.
+     *
+     * @param element the element to be removed
+     * @return the removed element
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not found in the list
+     */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        int index = indexOf(element);
+        if (index == -1) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(index);
+    }
+
+    /**
+     * Returns the first element of the list without removing it.
+     *
+     * @return the first element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return list[front];
+    }
+
+    /**
+     * Returns the last element of the list without removing it.
+     *
+     * @return the last element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return list[slot(size - 1)];
+    }
+
+    /**
+     * Checks if the list contains the specified element.
+     *
+     * @param target the element to search for
+     * @return true if the list contains the target element, false otherwise
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public boolean contains(T target) throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return indexOf(target) != -1;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the current size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the element at the specified index, counting from the front of the list.
+     *
+     * @param index the index of the element to retrieve
+     * @return the element at the specified index, or null if there is no element at that index
+     */
+    public T getByIndex(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        return list[slot(index)];
+    }
+
+    /**
+     * Returns an iterator over the elements in the list, from the front to the rear.
+     *
+     * @return an iterator over the elements in the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayDequeListIterator();
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return a string representation of the list
+     */
+    @Override
+    public String toString() {
+        String result = "";
+        for (int i = 0; i < size; i++) {
+            result += list[slot(i)].toString();
+            result += "---------------\n";
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position in the array of the element at an index of the list.
+     *
+     * @param index the index in the list
+     * @return the position in the array
+     */
+    private int slot(int index) {
+        int position = front + index;
+        return position < list.length ? position : position - list.length;
+    }
+
+    /**
+     * Returns the index of the first element equal to the target.
+     *
+     * @param target the element to search for
+     * @return the index of the element, or -1 if it is not in the list
+     */
+    private int indexOf(T target) {
+        for (int i = 0; i < size; i++) {
+            if (list[slot(i)].equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the element at an index, closing the gap from the shorter side.
+     *
+     * @param index the index of the element
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T removed = list[slot(index)];
+
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--) {
+                list[slot(i)] = list[slot(i - 1)];
+            }
+            list[front] = null;
+            front = (front + 1) % list.length;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                list[slot(i)] = list[slot(i + 1)];
+            }
+            list[slot(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Doubles the capacity of the list, moving the elements to the start of the new array.
+     */
+    private void expandCapacity() {
+        T[] newList = (T[]) new Object[list.length * 2];
+        for (int i = 0; i < size; i++) {
+            newList[i] = list[slot(i)];
+        }
+        list = newList;
+        front = 0;
+    }
+
+    /**
+     * Iterates over the list from the front to the rear.
+     */
+    private class ArrayDequeListIterator implements Iterator<T> {
+        private int current;
+        private int expectedModCount;
+        private boolean okToRemove;
+
+        public ArrayDequeListIterator() {
+            this.current = 0;
+            this.expectedModCount = modCount;
+            this.okToRemove = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            okToRemove = true;
+            return list[slot(current++)];
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!okToRemove) {
+                throw new NoSuchElementException();
+            }
+            removeAt(--current);
+            expectedModCount++;
+            okToRemove = false;
+        }
+    }
+}
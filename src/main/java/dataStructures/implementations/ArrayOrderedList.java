@@ -2,17 +2,29 @@ package dataStructures.implementations;
 
 import dataStructures.ADTS.OrderedListADT;
 
+import java.util.Comparator;
+
 /**
  * ArrayOrderedList implements an ordered list using an array.
  *
- * @param <T> the type of elements in the list, which must be comparable.
+ * The list is ordered by a comparator given at construction or, without one, by the natural order of the
+ * elements. The position of a new element is found by binary search, and {@link #addAll} sorts a batch of
+ * elements and merges it into the list in one pass instead of shifting the array once per element.
+ *
+ * @param <T> the type of elements in the list, which must be comparable unless a comparator is given.
  */
 public class ArrayOrderedList<T> extends ArrayList<T> implements OrderedListADT<T> {
+    /**
+     * The comparator that orders the list, null for the natural order of the elements.
+     */
+    private final Comparator<? super T> comparator;
+
     /**
      * Constructs an empty ordered list with the default capacity.
      */
     public ArrayOrderedList() {
         super();
+        this.comparator = null;
     }
 
     /**
@@ -22,44 +34,214 @@ public class ArrayOrderedList<T> extends ArrayList<T> implements OrderedListADT<
      */
     public ArrayOrderedList(int initialCapacity) {
         super(initialCapacity);
+        this.comparator = null;
+    }
+
+    /**
+     * Constructs an empty ordered list with the default capacity, ordered by a comparator.
+     *
+     * @param comparator the comparator that orders the list
+     * @throws IllegalArgumentException if the comparator is null
+     */
+    public ArrayOrderedList(Comparator<? super T> comparator) {
+        super();
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.comparator = comparator;
+    }
+
+    /**
+     * Constructs an empty ordered list with a specified initial capacity, ordered by a comparator.
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @param comparator the comparator that orders the list
+     * @throws IllegalArgumentException if the comparator is null
+     */
+    public ArrayOrderedList(int initialCapacity, Comparator<? super T> comparator) {
+        super(initialCapacity);
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.comparator = comparator;
     }
 
     /**
      * Adds the specified element to the ordered list, maintaining the list's order.
      *
-     * The element must implement the Comparable interface to be added.
+     * Without a comparator the element must implement the Comparable interface to be added. The element is
+     * placed before the elements equal to it.
      *
      * @param element the element to be added to the ordered list
      * @throws IllegalArgumentException if the element is null or does not implement Comparable
      */
     @Override
     public void add(T element) {
-
-        if (element == null) {
-            throw new IllegalArgumentException("Element cannot be null");
-        }
-        if (!(element instanceof Comparable)) {
-            throw new IllegalArgumentException("Element must be comparable");
-        }
+        checkElement(element);
 
         if (this.size == this.list.length) {
             this.expandCapacity();
         }
 
-        Comparable<T> comparableElement = (Comparable<T>) element;
+        int position = insertionPoint(element);
 
-        int position = 0;
+        System.arraycopy(this.list, position, this.list, position + 1, this.size - position);
 
-        while (position < this.size && comparableElement.compareTo(this.list[position]) > 0) {
-            position++;
+        this.list[position] = element;
+        this.size++;
+        modCount++;
+    }
+
+    /**
+     * Adds every element of a batch to the ordered list, maintaining the list's order.
+     *
+     * The batch is sorted on its own and then merged with the list, which takes O(n + k log k) time for a
+     * list of n elements and a batch of k, where adding them one by one shifts the array k times. Equal elements
+     * end up in the same order as if the batch were added one by one with {@link #add}: each element of the
+     * batch goes before the elements of the list equal to it and before the earlier elements of the batch
+     * equal to it.
+     *
+     * @param elements the elements to be added to the ordered list
+     * @throws IllegalArgumentException if the batch or one of its elements is null, or an element does not
+     *                                  implement Comparable
+     */
+    public void addAll(Iterable<? extends T> elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements cannot be null");
         }
 
-        for (int i = this.size; i > position; i--) {
-            this.list[i] = this.list[i - 1];
+        T[] batch = (T[]) new Object[16];
+        int count = 0;
+        for (T element : elements) {
+            checkElement(element);
+            if (count == batch.length) {
+                T[] grown = (T[]) new Object[batch.length * 2];
+                System.arraycopy(batch, 0, grown, 0, count);
+                batch = grown;
+            }
+            batch[count++] = element;
+        }
+        if (count == 0) {
+            return;
         }
 
-        this.list[position] = element;
-        this.size++;
+        // reversed before the stable sort, so later elements come first among equal ones, as with add
+        for (int low = 0, high = count - 1; low < high; low++, high--) {
+            T swap = batch[low];
+            batch[low] = batch[high];
+            batch[high] = swap;
+        }
+        sort(batch, count);
+
+        int capacity = Math.max(this.list.length, 1);
+        while (capacity < this.size + count) {
+            capacity *= 2;
+        }
+        T[] merged = (T[]) new Object[capacity];
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < this.size && j < count) {
+            if (compare(batch[j], this.list[i]) <= 0) {
+                merged[k++] = batch[j++];
+            } else {
+                merged[k++] = this.list[i++];
+            }
+        }
+        while (i < this.size) {
+            merged[k++] = this.list[i++];
+        }
+        while (j < count) {
+            merged[k++] = batch[j++];
+        }
+
+        this.list = merged;
+        this.size = k;
         modCount++;
     }
+
+    /**
+     * Checks that an element can be ordered by this list.
+     *
+     * @param element the element to be checked
+     * @throws IllegalArgumentException if the element is null or does not implement Comparable
+     */
+    private void checkElement(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        if (comparator == null && !(element instanceof Comparable)) {
+            throw new IllegalArgumentException("Element must be comparable");
+        }
+    }
+
+    /**
+     * Compares two elements by the order of this list.
+     *
+     * @param first the first element
+     * @param second the second element
+     * @return a negative number, zero or a positive number as the first element comes before, together with
+     *         or after the second
+     */
+    private int compare(T first, T second) {
+        if (comparator != null) {
+            return comparator.compare(first, second);
+        }
+        return ((Comparable<T>) first).compareTo(second);
+    }
+
+    /**
+     * Finds by binary search the position of the first element of the list that does not come before an
+     * element.
+     *
+     * @param element the element to be placed
+     * @return the position at which the element is to be inserted
+     */
+    private int insertionPoint(T element) {
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(element, this.list[middle]) > 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Stable bottom-up merge sort of the first elements of an array.
+     *
+     * @param array the array to be sorted
+     * @param count the number of elements to sort
+     */
+    private void sort(T[] array, int count) {
+        T[] buffer = (T[]) new Object[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int from = 0; from < count - width; from += 2 * width) {
+                int middle = from + width;
+                int to = Math.min(from + 2 * width, count);
+                if (compare(array[middle - 1], array[middle]) <= 0) {
+                    continue;
+                }
+
+                System.arraycopy(array, from, buffer, from, to - from);
+                int i = from;
+                int j = middle;
+                int k = from;
+                while (i < middle && j < to) {
+                    array[k++] = compare(buffer[j], buffer[i]) < 0 ? buffer[j++] : buffer[i++];
+                }
+                while (i < middle) {
+                    array[k++] = buffer[i++];
+                }
+                while (j < to) {
+                    array[k++] = buffer[j++];
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,560 @@
+package dataStructures.implementations;
+
+/**
+ * Represents a weighted undirected network that stores its edges in compressed sparse row (CSR) form.
+ *
+ * The edges of the vertex at index i are kept in the slice {@code [offsets[i], offsets[i + 1])} of the
+ * {@code targets} and {@code weights} arrays, sorted by the index of the neighbour. Memory grows with the
+ * number of edges instead of with the square of the number of vertices, and every traversal only walks
+ * the edges that exist, so BFS, DFS and the shortest path searches inherited from {@link Graph} and
+ * {@link Network} visit each vertex and each edge once.
+ *
+ * Changing the weight of an existing edge is done in place. New edges are buffered and merged into the
+ * compressed arrays in a single linear pass the next time the network is read, so building a network
+ * edge by edge stays linear in the number of vertices and edges.
+ *
+ * Removing a vertex removes its edges in place and leaves a tombstone, like in {@link Graph}; the compaction
+ * rebuilds the arrays in one linear pass.
+ *
+ * A network built by a {@link NetworkBuilder} has a fixed topology and arrays sized to its vertices and edges.
+ * Its weights can change, its edges can be removed and added back in place and its vertices can be removed,
+ * but adding a vertex or an edge that has no slot is rejected. The builder can also store the weights as floats
+ * or as fixed-point shorts instead of doubles, which shrinks the arrays a search walks; every method still takes
+ * and returns weights as doubles, rounded to the chosen precision.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public class CSRNetwork<T> extends Network<T> {
+    /**
+     * The start of the edges of each vertex in the targets and weights arrays.
+     */
+    protected int[] offsets;
+
+    /**
+     * The index of the neighbour reached by each edge.
+     */
+    protected int[] targets;
+
+    /**
+     * The weight of each edge, or Double.POSITIVE_INFINITY for an edge that was removed,
+     * stored with the precision chosen when the network was built.
+     */
+    protected WeightArray weights;
+
+    /**
+     * The first vertex of each edge that is waiting to be merged.
+     */
+    private int[] pendingSources;
+
+    /**
+     * The second vertex of each edge that is waiting to be merged.
+     */
+    private int[] pendingTargets;
+
+    /**
+     * The weight of each edge that is waiting to be merged.
+     */
+    private double[] pendingWeights;
+
+    /**
+     * The number of edges waiting to be merged.
+     */
+    private int pendingCount;
+
+    /**
+     * Whether the vertices and the slots of the edges are fixed, as in a network made by a {@link NetworkBuilder}.
+     */
+    private final boolean fixedTopology;
+
+    /**
+     * Constructs a new empty CSR network with default capacity.
+     */
+    public CSRNetwork() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty CSR network with a given vertex capacity.
+     *
+     * @param initialCapacity the initial number of vertices the network can hold
+     */
+    public CSRNetwork(int initialCapacity) {
+        // no adjacency matrix is needed, only the vertex array
+        super(0);
+        this.vertices = (T[]) new Object[Math.max(initialCapacity, 1)];
+        this.offsets = new int[this.vertices.length + 1];
+        this.targets = new int[DEFAULT_CAPACITY];
+        this.weights = WeightArray.doubles(DEFAULT_CAPACITY);
+        this.pendingSources = new int[DEFAULT_CAPACITY];
+        this.pendingTargets = new int[DEFAULT_CAPACITY];
+        this.pendingWeights = new double[DEFAULT_CAPACITY];
+        this.pendingCount = 0;
+        this.fixedTopology = false;
+    }
+
+    /**
+     * Constructs a CSR network with a fixed topology from the vertices and edges collected by a builder.
+     * The edges are merged into the CSR arrays with the same linear pass used for buffered edges,
+     * and the arrays are then trimmed to the number of edges.
+     *
+     * @param vertices the vertices, in index order
+     * @param numVertices the number of vertices
+     * @param sources the first vertex of each edge
+     * @param targets the second vertex of each edge
+     * @param weights the weight of each edge
+     * @param numEdges the number of edges
+     * @param storage an empty array with the precision the weights are stored with
+     * @throws IllegalArgumentException if a weight cannot be stored with that precision
+     */
+    CSRNetwork(T[] vertices, int numVertices, int[] sources, int[] targets, double[] weights, int numEdges,
+               WeightArray storage) {
+        super(0);
+        this.vertices = vertices;
+        this.numVertices = numVertices;
+        this.vertexIndex = new IndexMap<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            indexVertex(i);
+        }
+
+        this.offsets = new int[vertices.length + 1];
+        this.targets = new int[0];
+        this.weights = storage.newArray(0);
+        this.pendingSources = sources;
+        this.pendingTargets = targets;
+        this.pendingWeights = weights;
+        this.pendingCount = numEdges;
+        mergePending();
+
+        int size = offsets[numVertices];
+        if (this.targets.length != size) {
+            int[] exactTargets = new int[size];
+            System.arraycopy(this.targets, 0, exactTargets, 0, size);
+            this.targets = exactTargets;
+            this.weights = this.weights.copyOf(size);
+        }
+
+        // the arrays belong to the builder, and no edge is ever buffered again
+        this.pendingSources = new int[0];
+        this.pendingTargets = new int[0];
+        this.pendingWeights = new double[0];
+        this.fixedTopology = true;
+        weightsReplaced();
+    }
+
+    /**
+     * Checks if the network has a fixed topology.
+     *
+     * @return true if vertices and new edges cannot be added, false otherwise
+     */
+    public boolean hasFixedTopology() {
+        return fixedTopology;
+    }
+
+    /**
+     * Adds a vertex to the network. The new vertex has no edges.
+     *
+     * @param vertex the vertex to be added
+     * @throws IllegalArgumentException if the vertex is null
+     * @throws UnsupportedOperationException if the network has a fixed topology
+     */
+    @Override
+    public void addVertex(T vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("The Element Cant Be Null");
+        }
+        if (fixedTopology) {
+            throw new UnsupportedOperationException("The Network Has A Fixed Topology");
+        }
+
+        if (this.numVertices == this.vertices.length) {
+            expandCapacity();
+        }
+
+        vertices[numVertices] = vertex;
+        indexVertex(numVertices);
+        topologyChanged();
+        offsets[numVertices + 1] = offsets[numVertices];
+        numVertices++;
+    }
+
+    /**
+     * Expands the capacity of the vertex array and of the offsets.
+     */
+    @Override
+    protected void expandCapacity() {
+        int newCapacity = Math.max(vertices.length * EXPANSION_FATORIAL, 1);
+
+        T[] newVertices = (T[]) new Object[newCapacity];
+        System.arraycopy(vertices, 0, newVertices, 0, numVertices);
+        this.vertices = newVertices;
+
+        int[] newOffsets = new int[newCapacity + 1];
+        System.arraycopy(offsets, 0, newOffsets, 0, numVertices + 1);
+        this.offsets = newOffsets;
+    }
+
+    /**
+     * Moves the edges of the remaining vertices to their indices after a compaction,
+     * rebuilding the CSR arrays in one linear pass.
+     *
+     * @param newIndex the index of each vertex after the compaction, -1 for a removed vertex
+     * @param newCount the number of vertices after the compaction
+     */
+    @Override
+    protected void compactEdges(int[] newIndex, int newCount) {
+        rebuild(newIndex, newCount);
+    }
+
+    /**
+     * Adds an edge with weight 0 between two vertices by their indices.
+     *
+     * @param indexVertex1 the index of the first vertex
+     * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
+     */
+    @Override
+    public void addEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+        addEdge(indexVertex1, indexVertex2, 0);
+    }
+
+    /**
+     * Adds an edge between two vertices given their indices and weight.
+     * If the edge already exists its weight is updated in place.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param weight the weight of the edge
+     * @throws UnsupportedOperationException if the network has a fixed topology and the edge has no slot
+     */
+    @Override
+    public void addEdge(int index1, int index2, double weight) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return;
+        }
+
+        if (pendingCount == 0) {
+            int slot = findSlot(index1, index2);
+            if (slot != -1) {
+                boolean wasRemoved = weights.get(slot) == Double.POSITIVE_INFINITY;
+                weights.set(slot, weight);
+                weights.set(findSlot(index2, index1), weight);
+                if (wasRemoved != (weight == Double.POSITIVE_INFINITY)) {
+                    topologyChanged();
+                }
+                weightChanged(weight);
+                return;
+            }
+        }
+
+        if (fixedTopology) {
+            if (weight == Double.POSITIVE_INFINITY) {
+                return;
+            }
+            throw new UnsupportedOperationException("The Network Has A Fixed Topology");
+        }
+
+        topologyChanged();
+        addPending(index1, index2, weight);
+        weightChanged(weight);
+    }
+
+    /**
+     * Removes the edge between two vertices by their indices.
+     *
+     * @param indexVertex1 the index of the first vertex
+     * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
+     */
+    @Override
+    public void removeEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+
+        if (pendingCount == 0) {
+            int slot = findSlot(indexVertex1, indexVertex2);
+            if (slot != -1 && weights.get(slot) != Double.POSITIVE_INFINITY) {
+                topologyChanged();
+                weights.set(slot, Double.POSITIVE_INFINITY);
+                weights.set(findSlot(indexVertex2, indexVertex1), Double.POSITIVE_INFINITY);
+            }
+            return;
+        }
+
+        topologyChanged();
+        addPending(indexVertex1, indexVertex2, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the weight of the edge between two vertices given their indices.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return the weight of the edge, or Double.POSITIVE_INFINITY if no edge exists
+     */
+    @Override
+    public double getEdgeWeight(int index1, int index2) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        mergePending();
+        int slot = findSlot(index1, index2);
+        return slot != -1 ? weights.get(slot) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns a cursor to the edge that follows the given cursor on the vertex at the given index.
+     * In the CSR arrays the cursor is the position of the edge in the targets and weights arrays.
+     *
+     * @param index the index of the vertex
+     * @param cursor the cursor of the current edge, or -1 to start at the first edge
+     * @return a cursor to the next edge, or -1 if there are no more edges
+     */
+    @Override
+    protected int nextEdge(int index, int cursor) {
+        mergePending();
+
+        int end = offsets[index + 1];
+        int edge = cursor < offsets[index] ? offsets[index] : cursor + 1;
+
+        // skip the slots of removed edges
+        while (edge < end && weights.get(edge) == Double.POSITIVE_INFINITY) {
+            edge++;
+        }
+
+        return edge < end ? edge : -1;
+    }
+
+    /**
+     * Returns the index of the vertex reached by the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the index of the neighbouring vertex
+     */
+    @Override
+    protected int edgeTargetAt(int index, int cursor) {
+        return targets[cursor];
+    }
+
+    /**
+     * Returns the weight of the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the weight of the edge
+     */
+    @Override
+    protected double edgeWeightAt(int index, int cursor) {
+        return weights.get(cursor);
+    }
+
+    /**
+     * Returns a dense adjacency matrix equivalent to this network.
+     * The matrix is built on each call and takes memory proportional to the square of the number of vertices.
+     *
+     * @return the adjacency matrix
+     */
+    @Override
+    public double[][] getAdjMatrix() {
+        mergePending();
+
+        double[][] matrix = new double[numVertices][numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < numVertices; j++) {
+                matrix[i][j] = Double.POSITIVE_INFINITY;
+            }
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                matrix[i][targets[edge]] = weights.get(edge);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the position of the edge between two vertices in the CSR arrays.
+     * The edges of a vertex are sorted by neighbour, so the search is binary.
+     *
+     * @param index1 the index of the vertex the edge leaves from
+     * @param index2 the index of the neighbouring vertex
+     * @return the position of the edge, or -1 if there is no such slot
+     */
+    private int findSlot(int index1, int index2) {
+        int low = offsets[index1];
+        int high = offsets[index1 + 1] - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (targets[middle] < index2) {
+                low = middle + 1;
+            } else if (targets[middle] > index2) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Buffers an edge change until the next time the network is read.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param weight the weight of the edge, or Double.POSITIVE_INFINITY to remove it
+     */
+    private void addPending(int index1, int index2, double weight) {
+        if (pendingCount == pendingSources.length) {
+            int newCapacity = pendingSources.length * 2;
+
+            int[] newSources = new int[newCapacity];
+            int[] newTargets = new int[newCapacity];
+            double[] newWeights = new double[newCapacity];
+            System.arraycopy(pendingSources, 0, newSources, 0, pendingCount);
+            System.arraycopy(pendingTargets, 0, newTargets, 0, pendingCount);
+            System.arraycopy(pendingWeights, 0, newWeights, 0, pendingCount);
+
+            this.pendingSources = newSources;
+            this.pendingTargets = newTargets;
+            this.pendingWeights = newWeights;
+        }
+
+        pendingSources[pendingCount] = index1;
+        pendingTargets[pendingCount] = index2;
+        pendingWeights[pendingCount] = weight;
+        pendingCount++;
+    }
+
+    /**
+     * Merges the buffered edge changes into the CSR arrays, if there are any.
+     */
+    private void mergePending() {
+        if (pendingCount > 0) {
+            rebuild(null, numVertices);
+        }
+    }
+
+    /**
+     * Rebuilds the CSR arrays from the live edges and the buffered edge changes.
+     *
+     * Every edge is listed once per direction, the list is sorted by (vertex, neighbour) with two stable
+     * counting sorts, and for repeated pairs the last change wins. The whole rebuild is linear in the number
+     * of vertices and edges.
+     *
+     * @param newIndex the new index of each vertex, -1 to drop a vertex with its edges, or null to keep all vertices
+     * @param newCount the number of vertices after the rebuild
+     */
+    private void rebuild(int[] newIndex, int newCount) {
+        int total = 2 * pendingCount;
+        for (int edge = 0; edge < offsets[numVertices]; edge++) {
+            if (weights.get(edge) != Double.POSITIVE_INFINITY) {
+                total++;
+            }
+        }
+
+        int[] sources = new int[total];
+        int[] ends = new int[total];
+        double[] values = new double[total];
+        int n = 0;
+
+        for (int i = 0; i < numVertices; i++) {
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                double weight = weights.get(edge);
+                if (weight != Double.POSITIVE_INFINITY) {
+                    sources[n] = i;
+                    ends[n] = targets[edge];
+                    values[n] = weight;
+                    n++;
+                }
+            }
+        }
+        for (int p = 0; p < pendingCount; p++) {
+            sources[n] = pendingSources[p];
+            ends[n] = pendingTargets[p];
+            values[n] = pendingWeights[p];
+            n++;
+            sources[n] = pendingTargets[p];
+            ends[n] = pendingSources[p];
+            values[n] = pendingWeights[p];
+            n++;
+        }
+
+        // drop the removed vertices and renumber the others
+        if (newIndex != null) {
+            int kept = 0;
+            for (int k = 0; k < n; k++) {
+                if (newIndex[sources[k]] != -1 && newIndex[ends[k]] != -1) {
+                    sources[kept] = newIndex[sources[k]];
+                    ends[kept] = newIndex[ends[k]];
+                    values[kept] = values[k];
+                    kept++;
+                }
+            }
+            n = kept;
+        }
+
+        int[] order = new int[n];
+        for (int k = 0; k < n; k++) {
+            order[k] = k;
+        }
+        order = countingSort(order, ends, n, newCount);
+        order = countingSort(order, sources, n, newCount);
+
+        int[] newOffsets = new int[vertices.length + 1];
+        int[] newTargets = new int[Math.max(n, 1)];
+        WeightArray newWeights = weights.newArray(Math.max(n, 1));
+        int size = 0;
+
+        for (int k = 0; k < n; k++) {
+            int current = order[k];
+            boolean lastOfPair = k == n - 1 || sources[order[k + 1]] != sources[current] || ends[order[k + 1]] != ends[current];
+
+            if (lastOfPair && values[current] != Double.POSITIVE_INFINITY) {
+                newTargets[size] = ends[current];
+                newWeights.set(size, values[current]);
+                newOffsets[sources[current] + 1]++;
+                size++;
+            }
+        }
+        for (int i = 0; i < newCount; i++) {
+            newOffsets[i + 1] += newOffsets[i];
+        }
+        for (int i = newCount + 1; i < newOffsets.length; i++) {
+            newOffsets[i] = newOffsets[newCount];
+        }
+
+        this.offsets = newOffsets;
+        this.targets = newTargets;
+        this.weights = newWeights;
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Stable counting sort of positions by an integer key in the range [0, buckets).
+     *
+     * @param order the positions to be sorted
+     * @param keys the key of each position
+     * @param n the number of positions
+     * @param buckets the number of distinct keys
+     * @return the positions sorted by key
+     */
+    private static int[] countingSort(int[] order, int[] keys, int n, int buckets) {
+        int[] count = new int[buckets + 1];
+        for (int k = 0; k < n; k++) {
+            count[keys[order[k]] + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            count[b + 1] += count[b];
+        }
+
+        int[] sorted = new int[n];
+        for (int k = 0; k < n; k++) {
+            sorted[count[keys[order[k]]]++] = order[k];
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,163 @@
+package dataStructures.implementations;
+
+/**
+ * The connected components, articulation points and bridges of a graph, found in one depth first search.
+ *
+ * The search is Tarjan's: every vertex gets its discovery time and the lowest discovery time reachable from
+ * its subtree through one back edge. A vertex whose child cannot reach above it is an articulation point, and
+ * a tree edge whose child cannot reach its parent or above is a bridge. The search is iterative, so long
+ * chains of rooms do not overflow the stack, and each tree of the search is one connected component.
+ * Once built, every query is answered in O(1).
+ */
+class ConnectivityIndex {
+    /**
+     * The component of each vertex, -1 for a removed vertex.
+     */
+    private final int[] component;
+
+    /**
+     * The number of connected components.
+     */
+    private final int componentCount;
+
+    /**
+     * The discovery time of each vertex in the search.
+     */
+    private final int[] discovery;
+
+    /**
+     * The lowest discovery time reachable from the subtree of each vertex through one back edge.
+     */
+    private final int[] low;
+
+    /**
+     * The parent of each vertex in the search, -1 for the first vertex of a component.
+     */
+    private final int[] parent;
+
+    /**
+     * Whether removing each vertex disconnects its component.
+     */
+    private final boolean[] articulation;
+
+    /**
+     * Builds the index for the current edges of a graph.
+     *
+     * @param graph the graph
+     */
+    ConnectivityIndex(Graph<?> graph) {
+        int size = graph.numVertices;
+        this.component = new int[size];
+        this.discovery = new int[size];
+        this.low = new int[size];
+        this.parent = new int[size];
+        this.articulation = new boolean[size];
+
+        for (int v = 0; v < size; v++) {
+            component[v] = -1;
+            discovery[v] = -1;
+            parent[v] = -1;
+        }
+
+        // the edge each vertex on the search path resumes from
+        int[] cursor = new int[size];
+        int[] stack = new int[size];
+        int time = 0;
+        int components = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (graph.isRemoved(root) || discovery[root] != -1) {
+                continue;
+            }
+
+            int top = 0;
+            int rootChildren = 0;
+            stack[top++] = root;
+            discovery[root] = low[root] = time++;
+            component[root] = components;
+            cursor[root] = graph.firstEdge(root);
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                int edge = cursor[v];
+
+                if (edge != -1) {
+                    cursor[v] = graph.nextEdge(v, edge);
+                    int w = graph.edgeTargetAt(v, edge);
+                    if (w == v) {
+                        continue;
+                    }
+
+                    if (discovery[w] == -1) {
+                        parent[w] = v;
+                        discovery[w] = low[w] = time++;
+                        component[w] = components;
+                        cursor[w] = graph.firstEdge(w);
+                        stack[top++] = w;
+                        if (v == root) {
+                            rootChildren++;
+                        }
+                    } else if (w != parent[v]) {
+                        low[v] = Math.min(low[v], discovery[w]);
+                    }
+                } else {
+                    top--;
+                    int p = parent[v];
+                    if (p != -1) {
+                        low[p] = Math.min(low[p], low[v]);
+                        if (p != root && low[v] >= discovery[p]) {
+                            articulation[p] = true;
+                        }
+                    }
+                }
+            }
+
+            // the first vertex is only a cut vertex if the search left it more than once
+            articulation[root] = rootChildren > 1;
+            components++;
+        }
+
+        this.componentCount = components;
+    }
+
+    /**
+     * Returns the number of connected components.
+     *
+     * @return the number of components
+     */
+    int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns the component of a vertex. Two vertices are connected if and only if they are in the same one.
+     *
+     * @param index the index of the vertex
+     * @return the component, from 0 to the number of components minus one
+     */
+    int componentOf(int index) {
+        return component[index];
+    }
+
+    /**
+     * Checks if removing a vertex would disconnect the other vertices of its component.
+     *
+     * @param index the index of the vertex
+     * @return true if the vertex is an articulation point, false otherwise
+     */
+    boolean isArticulationPoint(int index) {
+        return articulation[index];
+    }
+
+    /**
+     * Checks if removing the edge between two vertices would disconnect them.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if the vertices are joined by an edge that is a bridge, false otherwise
+     */
+    boolean isBridge(int index1, int index2) {
+        return (parent[index2] == index1 && low[index2] > discovery[index1])
+                || (parent[index1] == index2 && low[index1] > discovery[index2]);
+    }
+}
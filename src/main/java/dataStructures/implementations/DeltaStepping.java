@@ -0,0 +1,477 @@
+package dataStructures.implementations;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * A delta-stepping search that computes the shortest path tree from one vertex of a network.
+ *
+ * The tentative distances are split into buckets of width delta. The search empties the lowest bucket in
+ * phases: each phase relaxes the light edges, those not heavier than delta, of the vertices in the bucket,
+ * which may bring more vertices into it; once the bucket stays empty the heavy edges of every vertex it held
+ * are relaxed once. The vertices of a phase are split into chunks that run in parallel on the common
+ * fork/join pool, and a distance is lowered with a compare-and-set on its bits, which order like the
+ * distances themselves since no distance is negative.
+ *
+ * The distances are the same as those of Dijkstra's algorithm, bit for bit, since both end at the only
+ * distances where no edge can lower any of them. The predecessor of each vertex is then taken from its
+ * distance: of the neighbours whose edge leads to it on a shortest path, the one with the smallest index,
+ * which is the predecessor {@link Network}'s Dijkstra keeps. That only holds while every such neighbour is
+ * closer to the source than the vertex; a neighbour at the same distance, over an edge that adds nothing to
+ * it, may or may not be settled first by Dijkstra's algorithm, so the search reports such a tie instead of
+ * picking. The search also needs non-negative weights and reports a negative edge instead of running.
+ *
+ * Searches read the edges through the cursors of the network from several threads, so the network must
+ * not change while one runs.
+ */
+class DeltaStepping {
+    /**
+     * The number of vertices from which the phases are split across threads.
+     */
+    static final int PARALLEL_THRESHOLD = ParallelBreadthFirstSearch.PARALLEL_THRESHOLD;
+
+    /**
+     * The number of vertices each chunk of a phase handles.
+     */
+    private static final int GRAIN = 256;
+
+    /**
+     * Returned for a vertex whose predecessor depends on the order Dijkstra's algorithm settles vertices in.
+     */
+    private static final int TIED = -2;
+
+    /**
+     * The network being searched.
+     */
+    private final Graph<?> network;
+
+    /**
+     * The number of vertex slots.
+     */
+    private final int size;
+
+    /**
+     * Whether the chunks of a phase run in parallel.
+     */
+    private final boolean parallel;
+
+    /**
+     * The bits of the tentative distance of each vertex.
+     */
+    private final AtomicLongArray distance;
+
+    /**
+     * The width of a bucket. Edges up to this weight are light.
+     */
+    private double delta;
+
+    /**
+     * The vertices queued in each bucket, the bucket of a distance d being at (d / delta) modulo the number
+     * of buckets. A queued vertex whose distance has since moved to another bucket is skipped.
+     */
+    private int[][] buckets;
+
+    /**
+     * The number of vertices queued in each bucket.
+     */
+    private int[] bucketCount;
+
+    /**
+     * The last phase in which each vertex was taken from a bucket, so a vertex queued twice is taken once.
+     */
+    private final int[] takenIn;
+
+    /**
+     * The last bucket in which each vertex was settled, so its heavy edges are relaxed once per bucket.
+     */
+    private final long[] settledIn;
+
+    /**
+     * The number of phases run so far.
+     */
+    private int phase;
+
+    /**
+     * The vertices each chunk of the current phase lowered the distance of.
+     */
+    private int[][] lowered;
+
+    /**
+     * The number of vertices each chunk of the current phase lowered the distance of.
+     */
+    private int[] loweredCount;
+
+    /**
+     * Prepares a search on a network.
+     *
+     * @param network the network, whose storage is settled for concurrent reads
+     */
+    private DeltaStepping(Graph<?> network) {
+        this.network = network;
+        this.size = network.numVertices;
+        this.parallel = size >= PARALLEL_THRESHOLD;
+        this.distance = new AtomicLongArray(size);
+        this.takenIn = new int[size];
+        this.settledIn = new long[size];
+        this.phase = 0;
+    }
+
+    /**
+     * Computes the distance and the predecessor of every vertex on its shortest path from a source.
+     *
+     * @param network the network, whose storage is settled for concurrent reads
+     * @param source the index of the source vertex
+     * @param distanceOut receives the distance of each vertex, Double.POSITIVE_INFINITY if it cannot be reached
+     * @param predecessorOut receives the predecessor of each vertex, -1 for the source and unreached vertices
+     * @return true if the tree was computed, false if the network has a negative edge or a vertex reached from
+     * a neighbour at its own distance, in which case the output is incomplete and the tree is left to
+     * Dijkstra's algorithm
+     */
+    static boolean shortestPathTree(Graph<?> network, int source, double[] distanceOut, int[] predecessorOut) {
+        DeltaStepping search = new DeltaStepping(network);
+        if (!search.chooseDelta()) {
+            return false;
+        }
+
+        search.run(source);
+        return search.collect(source, distanceOut, predecessorOut);
+    }
+
+    /**
+     * Sets the width of the buckets to the largest weight over the average degree, so a bucket holds about
+     * one edge's worth of distance, and sizes the ring of buckets to cover the heaviest edge.
+     *
+     * @return true if every weight is non-negative, false otherwise
+     */
+    private boolean chooseDelta() {
+        int chunks = chunks(size);
+        double[] heaviest = new double[chunks];
+        long[] edges = new long[chunks];
+        boolean[] negative = new boolean[chunks];
+
+        steps(chunks).forEach(chunk -> {
+            for (int v = chunk * GRAIN; v < Math.min(chunk * GRAIN + GRAIN, size); v++) {
+                for (int edge = network.firstEdge(v); edge != -1; edge = network.nextEdge(v, edge)) {
+                    double weight = network.edgeWeightAt(v, edge);
+                    if (weight < 0) {
+                        negative[chunk] = true;
+                    } else if (weight > heaviest[chunk]) {
+                        heaviest[chunk] = weight;
+                    }
+                    edges[chunk]++;
+                }
+            }
+        });
+
+        double maxWeight = 0;
+        long totalEdges = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (negative[chunk]) {
+                return false;
+            }
+            maxWeight = Math.max(maxWeight, heaviest[chunk]);
+            totalEdges += edges[chunk];
+        }
+
+        double averageDegree = Math.max(1.0, (double) totalEdges / Math.max(network.size(), 1));
+        this.delta = maxWeight > 0 ? maxWeight / averageDegree : 1;
+
+        // a relaxed vertex lands at most maxWeight beyond the bucket being emptied, plus one bucket for rounding
+        int count = (int) Math.min(Integer.MAX_VALUE - 3, (long) (maxWeight / delta)) + 3;
+        this.buckets = new int[count][];
+        this.bucketCount = new int[count];
+        return true;
+    }
+
+    /**
+     * Empties the buckets in order until every one is empty.
+     *
+     * @param source the index of the source vertex
+     */
+    private void run(int source) {
+        long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+        for (int i = 0; i < size; i++) {
+            distance.set(i, infinity);
+            settledIn[i] = -1;
+        }
+        distance.set(source, Double.doubleToLongBits(0));
+        enqueue(source);
+
+        int[] settled = new int[16];
+        long current = 0;
+        int emptyInARow = 0;
+
+        while (emptyInARow < buckets.length) {
+            int slot = (int) (current % buckets.length);
+            if (bucketCount[slot] == 0) {
+                emptyInARow++;
+                current++;
+                continue;
+            }
+            emptyInARow = 0;
+
+            // relax the light edges until no vertex comes back into the bucket
+            int settledCount = 0;
+            while (bucketCount[slot] > 0) {
+                int[] frontier = take(slot, current);
+                for (int vertex : frontier) {
+                    if (settledIn[vertex] != current) {
+                        settledIn[vertex] = current;
+                        if (settledCount == settled.length) {
+                            settled = grow(settled);
+                        }
+                        settled[settledCount++] = vertex;
+                    }
+                }
+                relax(frontier, frontier.length, true);
+            }
+
+            // the distances of the bucket are final, so its heavy edges are relaxed once
+            relax(settled, settledCount, false);
+            current++;
+        }
+    }
+
+    /**
+     * Takes the vertices of a bucket whose distance still falls in it, each once.
+     *
+     * @param slot the slot of the bucket
+     * @param bucket the number of the bucket
+     * @return the vertices taken
+     */
+    private int[] take(int slot, long bucket) {
+        phase++;
+        int[] queued = buckets[slot];
+        int count = bucketCount[slot];
+        bucketCount[slot] = 0;
+
+        int taken = 0;
+        for (int k = 0; k < count; k++) {
+            int vertex = queued[k];
+            if (takenIn[vertex] != phase && bucketOf(distanceOf(vertex)) == bucket) {
+                takenIn[vertex] = phase;
+                queued[taken++] = vertex;
+            }
+        }
+
+        int[] frontier = new int[taken];
+        System.arraycopy(queued, 0, frontier, 0, taken);
+        return frontier;
+    }
+
+    /**
+     * Relaxes the light or the heavy edges of a set of vertices and queues every vertex whose distance was
+     * lowered in the bucket of its new distance.
+     *
+     * @param vertices the vertices whose edges are relaxed
+     * @param count the number of vertices
+     * @param light true to relax the edges up to delta, false to relax the heavier ones
+     */
+    private void relax(int[] vertices, int count, boolean light) {
+        int chunks = chunks(count);
+        this.lowered = new int[chunks][];
+        this.loweredCount = new int[chunks];
+
+        steps(chunks).forEach(chunk -> relaxChunk(chunk, vertices, count, light));
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            for (int k = 0; k < loweredCount[chunk]; k++) {
+                enqueue(lowered[chunk][k]);
+            }
+        }
+    }
+
+    /**
+     * Relaxes the edges of one chunk of a set of vertices.
+     *
+     * @param chunk the chunk
+     * @param vertices the vertices whose edges are relaxed
+     * @param count the number of vertices
+     * @param light true to relax the edges up to delta, false to relax the heavier ones
+     */
+    private void relaxChunk(int chunk, int[] vertices, int count, boolean light) {
+        int[] found = new int[16];
+        int foundCount = 0;
+
+        for (int k = chunk * GRAIN; k < Math.min(chunk * GRAIN + GRAIN, count); k++) {
+            int vertex = vertices[k];
+            double base = distanceOf(vertex);
+            for (int edge = network.firstEdge(vertex); edge != -1; edge = network.nextEdge(vertex, edge)) {
+                double weight = network.edgeWeightAt(vertex, edge);
+                if ((weight <= delta) != light) {
+                    continue;
+                }
+
+                int target = network.edgeTargetAt(vertex, edge);
+                if (lower(target, base + weight)) {
+                    if (foundCount == found.length) {
+                        found = grow(found);
+                    }
+                    found[foundCount++] = target;
+                }
+            }
+        }
+
+        lowered[chunk] = found;
+        loweredCount[chunk] = foundCount;
+    }
+
+    /**
+     * Lowers the distance of a vertex, unless it is already as low.
+     *
+     * @param vertex the index of the vertex
+     * @param candidate the new distance
+     * @return true if the distance was lowered, false otherwise
+     */
+    private boolean lower(int vertex, double candidate) {
+        long bits = Double.doubleToLongBits(candidate);
+        while (true) {
+            long current = distance.get(vertex);
+            // non-negative doubles order like the longs of their bits
+            if (bits >= current) {
+                return false;
+            }
+            if (distance.compareAndSet(vertex, current, bits)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Writes the distances and picks the predecessor of every reached vertex.
+     *
+     * @param source the index of the source vertex
+     * @param distanceOut receives the distance of each vertex
+     * @param predecessorOut receives the predecessor of each vertex
+     * @return true if every predecessor was picked, false if a vertex is reached from a neighbour at its own
+     * distance
+     */
+    private boolean collect(int source, double[] distanceOut, int[] predecessorOut) {
+        int chunks = chunks(size);
+        boolean[] tied = new boolean[chunks];
+        steps(chunks).forEach(chunk -> {
+            for (int v = chunk * GRAIN; v < Math.min(chunk * GRAIN + GRAIN, size); v++) {
+                distanceOut[v] = distanceOf(v);
+                if (v == source) {
+                    predecessorOut[v] = -1;
+                    continue;
+                }
+
+                int predecessor = smallestPredecessor(v);
+                if (predecessor == TIED) {
+                    tied[chunk] = true;
+                    predecessor = -1;
+                }
+                predecessorOut[v] = predecessor;
+            }
+        });
+
+        for (boolean tie : tied) {
+            if (tie) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the neighbour with the smallest index that lies before a vertex on a shortest path to it.
+     *
+     * @param vertex the index of the vertex
+     * @return the neighbour, -1 if the vertex was not reached, or {@link #TIED} if a neighbour at the same
+     * distance as the vertex also lies before it
+     */
+    private int smallestPredecessor(int vertex) {
+        double target = distanceOf(vertex);
+        if (target == Double.POSITIVE_INFINITY) {
+            return -1;
+        }
+
+        int best = -1;
+        for (int edge = network.firstEdge(vertex); edge != -1; edge = network.nextEdge(vertex, edge)) {
+            int neighbour = network.edgeTargetAt(vertex, edge);
+            if (neighbour == vertex) {
+                continue;
+            }
+            double through = distanceOf(neighbour);
+            if (through + network.edgeWeightAt(vertex, edge) != target) {
+                continue;
+            }
+            if (through == target) {
+                return TIED;
+            }
+            if (best == -1 || neighbour < best) {
+                best = neighbour;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Queues a vertex in the bucket of its current distance.
+     *
+     * @param vertex the index of the vertex
+     */
+    private void enqueue(int vertex) {
+        int slot = (int) (bucketOf(distanceOf(vertex)) % buckets.length);
+        if (buckets[slot] == null) {
+            buckets[slot] = new int[16];
+        } else if (bucketCount[slot] == buckets[slot].length) {
+            buckets[slot] = grow(buckets[slot]);
+        }
+        buckets[slot][bucketCount[slot]++] = vertex;
+    }
+
+    /**
+     * Returns the tentative distance of a vertex.
+     *
+     * @param vertex the index of the vertex
+     * @return the distance
+     */
+    private double distanceOf(int vertex) {
+        return Double.longBitsToDouble(distance.get(vertex));
+    }
+
+    /**
+     * Returns the number of the bucket a distance falls in.
+     *
+     * @param value the distance
+     * @return the number of the bucket
+     */
+    private long bucketOf(double value) {
+        return (long) (value / delta);
+    }
+
+    /**
+     * Returns the chunks of a phase, in parallel on large networks.
+     *
+     * @param chunks the number of chunks
+     * @return the stream of chunk numbers
+     */
+    private IntStream steps(int chunks) {
+        IntStream steps = IntStream.range(0, chunks);
+        return parallel ? steps.parallel() : steps;
+    }
+
+    /**
+     * Returns the number of chunks needed for a number of items.
+     *
+     * @param items the number of items
+     * @return the number of chunks
+     */
+    private static int chunks(int items) {
+        return (items + GRAIN - 1) / GRAIN;
+    }
+
+    /**
+     * Doubles the capacity of an array.
+     *
+     * @param array the array
+     * @return a copy of the array with twice its capacity
+     */
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
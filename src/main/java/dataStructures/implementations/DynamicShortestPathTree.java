@@ -0,0 +1,459 @@
+package dataStructures.implementations;
+
+/**
+ * A shortest path tree of a network that is kept up to date while the edge weights change.
+ *
+ * Edge weights are changed through {@link #updateEdge(int, int, double)}, which writes the new weight to the
+ * network and records the change. The tree is repaired from the recorded changes the next time it is read,
+ * in the style of the Ramalingam-Reps algorithm:
+ * - the vertices whose tree path used an edge that got heavier or was removed lose their distance;
+ * - they are seeded from their neighbours outside that region, and the endpoints of the edges that got lighter
+ *   are relaxed;
+ * - a Dijkstra search limited to the vertices that can improve settles the new distances.
+ *
+ * The repair touches only the part of the tree that the changes can reach. It relies on every weight being
+ * non-negative; while the network has a negative edge, or after a vertex is added or removed, the tree is
+ * computed again from scratch instead. So is it after any change made to the network directly, which the tree
+ * notices through the change counters of the network.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public class DynamicShortestPathTree<T> extends ShortestPathTree<T> {
+    /**
+     * The initial capacity of the buffers of recorded changes.
+     */
+    private static final int DEFAULT_CHANGES = 16;
+
+    /**
+     * The network the tree is computed on.
+     */
+    private final Network<T> network;
+
+    /**
+     * The number of vertex slots the network had when the tree was last computed, removed vertices included.
+     */
+    private int numVertices;
+
+    /**
+     * The number of vertices the network had when the tree was last computed.
+     */
+    private int liveVertices;
+
+    /**
+     * The number of edges of the network with a negative weight.
+     */
+    private int negativeEdges;
+
+    /**
+     * The source vertex, kept to find its index again when the vertices of the network are renumbered.
+     */
+    private T sourceVertex;
+
+    /**
+     * Whether the tree has to be computed again from scratch.
+     */
+    private boolean stale;
+
+    /**
+     * The topology change count of the network the tree is up to date with.
+     */
+    private int checkedModCount;
+
+    /**
+     * The weight change count of the network the tree is up to date with.
+     */
+    private int checkedWeightModCount;
+
+    /**
+     * The first endpoint of each recorded change.
+     */
+    private int[] changedFrom;
+
+    /**
+     * The second endpoint of each recorded change.
+     */
+    private int[] changedTo;
+
+    /**
+     * The weight the edge had before each recorded change.
+     */
+    private double[] changedWeight;
+
+    /**
+     * The number of recorded changes not yet applied to the tree.
+     */
+    private int changeCount;
+
+    /**
+     * The heap used by the repairs, reused between them.
+     */
+    private IndexedMinHeap heap;
+
+    /**
+     * The vertices that lost their distance in the current repair.
+     */
+    private int[] affected;
+
+    /**
+     * The repair in which each vertex lost its distance.
+     */
+    private int[] affectedIn;
+
+    /**
+     * The repair in which each vertex was settled.
+     */
+    private int[] settledIn;
+
+    /**
+     * The number of repairs done so far, used to stamp the vertices.
+     */
+    private int repair;
+
+    /**
+     * Creates a dynamic shortest path tree of the given network with no source.
+     *
+     * @param network the network the tree is computed on
+     */
+    public DynamicShortestPathTree(Network<T> network) {
+        super();
+        this.network = network;
+        this.source = -1;
+        this.stale = true;
+        this.changedFrom = new int[DEFAULT_CHANGES];
+        this.changedTo = new int[DEFAULT_CHANGES];
+        this.changedWeight = new double[DEFAULT_CHANGES];
+        this.changeCount = 0;
+        this.heap = new IndexedMinHeap(0);
+        this.affected = new int[0];
+        this.affectedIn = new int[0];
+        this.settledIn = new int[0];
+        this.repair = 0;
+    }
+
+    /**
+     * Sets the source vertex of the tree. The tree is only computed again if the source changed.
+     *
+     * @param vertex the source vertex
+     */
+    public void setSource(T vertex) {
+        int index = network.getIndex(vertex);
+        this.sourceVertex = index != -1 ? vertex : null;
+        if (index != source) {
+            this.source = index;
+            this.stale = true;
+        }
+    }
+
+    /**
+     * Changes the weight of the edge between two vertices of the network and records the change for the
+     * next repair. A weight of Double.POSITIVE_INFINITY removes the edge.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param weight the new weight of the edge
+     */
+    public void updateEdge(int index1, int index2, double weight) {
+        if (!network.indexIsValid(index1) || !network.indexIsValid(index2)) {
+            return;
+        }
+
+        double oldWeight = network.getEdgeWeight(index1, index2);
+        if (oldWeight == weight) {
+            return;
+        }
+
+        // only a tree that saw every earlier change can take this one as recorded
+        boolean inSync = network.modCount == checkedModCount && network.weightModCount == checkedWeightModCount;
+        if (weight == Double.POSITIVE_INFINITY) {
+            network.removeEdge(index1, index2);
+        } else {
+            network.addEdge(index1, index2, weight);
+        }
+        if (inSync) {
+            checkNetwork();
+        }
+
+        // the network may keep the weight with less precision, and the tree must follow what it kept
+        weight = network.getEdgeWeight(index1, index2);
+        if (oldWeight == weight) {
+            return;
+        }
+
+        if (oldWeight < 0) {
+            negativeEdges--;
+        }
+        if (weight < 0) {
+            negativeEdges++;
+        }
+
+        if (oldWeight < 0 || weight < 0) {
+            // the tree was not built with non-negative weights only, so it cannot be repaired
+            this.stale = true;
+        } else if (!stale && source != -1) {
+            recordChange(index1, index2, oldWeight);
+        }
+    }
+
+    /**
+     * Forces the tree to be computed again from scratch the next time it is read.
+     */
+    public void invalidate() {
+        this.stale = true;
+    }
+
+    /**
+     * Brings the tree up to date with the network, repairing it from the recorded changes
+     * or computing it again when a repair is not possible.
+     */
+    public void update() {
+        if (source == -1) {
+            if (stale) {
+                reset(network, -1);
+                this.stale = false;
+            }
+            return;
+        }
+
+        boolean unrecorded = network.modCount != checkedModCount || network.weightModCount != checkedWeightModCount;
+        if (stale || unrecorded || network.numVertices != numVertices || network.size() != liveVertices
+                || negativeEdges > 0) {
+            recompute();
+        } else if (changeCount > 0) {
+            repair();
+        }
+    }
+
+    /**
+     * Records that the tree is up to date with every change the network saw so far.
+     */
+    private void checkNetwork() {
+        this.checkedModCount = network.modCount;
+        this.checkedWeightModCount = network.weightModCount;
+    }
+
+    /**
+     * Returns the source vertex of the tree.
+     *
+     * @return the source vertex, or null if the tree has no source
+     */
+    @Override
+    public T getSource() {
+        update();
+        return super.getSource();
+    }
+
+    /**
+     * Returns the distance from the source to the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex cannot be reached
+     */
+    @Override
+    public double distanceTo(int index) {
+        update();
+        return super.distanceTo(index);
+    }
+
+    /**
+     * Returns the shortest path from the source to the vertex at the given index.
+     *
+     * @param index the index of the target vertex
+     * @return the vertices of the path from the source to the target, empty if the target cannot be reached
+     */
+    @Override
+    public ArrayUnorderedList<T> pathTo(int index) {
+        update();
+        return super.pathTo(index);
+    }
+
+    /**
+     * Returns the shortest path from the given vertex to the source.
+     * The network is undirected, so the path is read by walking the tree from the vertex up to its root.
+     *
+     * @param vertex the vertex the path starts at
+     * @return the vertices of the path from the vertex to the source, empty if the source cannot be reached
+     */
+    public ArrayUnorderedList<T> pathFrom(T vertex) {
+        int index = network.getIndex(vertex);
+        ArrayUnorderedList<T> path = new ArrayUnorderedList<>();
+
+        if (distanceTo(index) == Double.POSITIVE_INFINITY) {
+            return path;
+        }
+
+        for (int at = index; at != -1; at = predecessor[at]) {
+            path.addToRear(network.vertices[at]);
+        }
+        return path;
+    }
+
+    /**
+     * Records a change of the weight of an edge.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param oldWeight the weight the edge had before the change
+     */
+    private void recordChange(int index1, int index2, double oldWeight) {
+        if (changeCount == changedFrom.length) {
+            int[] newFrom = new int[changeCount * 2];
+            int[] newTo = new int[changeCount * 2];
+            double[] newWeight = new double[changeCount * 2];
+            for (int i = 0; i < changeCount; i++) {
+                newFrom[i] = changedFrom[i];
+                newTo[i] = changedTo[i];
+                newWeight[i] = changedWeight[i];
+            }
+            this.changedFrom = newFrom;
+            this.changedTo = newTo;
+            this.changedWeight = newWeight;
+        }
+
+        changedFrom[changeCount] = index1;
+        changedTo[changeCount] = index2;
+        changedWeight[changeCount] = oldWeight;
+        changeCount++;
+    }
+
+    /**
+     * Computes the tree again from scratch and counts the negative edges of the network.
+     */
+    private void recompute() {
+        // a compaction of the network may have moved the source to another index
+        this.source = network.getIndex(sourceVertex);
+        this.numVertices = network.numVertices;
+        this.liveVertices = network.size();
+        this.changeCount = 0;
+        this.stale = false;
+
+        network.shortestPathTree(network.indexIsValid(source) ? network.vertices[source] : null, this);
+
+        this.negativeEdges = 0;
+        for (int i = 0; i < numVertices; i++) {
+            for (int edge = network.firstEdge(i); edge != -1; edge = network.nextEdge(i, edge)) {
+                if (network.edgeTargetAt(i, edge) >= i && network.edgeWeightAt(i, edge) < 0) {
+                    negativeEdges++;
+                }
+            }
+        }
+
+        if (heap.capacity() < numVertices) {
+            this.heap = new IndexedMinHeap(numVertices);
+            this.affected = new int[numVertices];
+            this.affectedIn = new int[numVertices];
+            this.settledIn = new int[numVertices];
+            this.repair = 0;
+        }
+
+        // reading the edges may have settled the storage of the network, which counts as a change
+        checkNetwork();
+    }
+
+    /**
+     * Repairs the tree from the recorded changes. Every weight in the network must be non-negative.
+     */
+    private void repair() {
+        repair++;
+        heap.clear();
+
+        // the queue of the subtree walks doubles as the list of the vertices that lost their distance
+        int affectedCount = 0;
+
+        for (int c = 0; c < changeCount; c++) {
+            int from = changedFrom[c];
+            int to = changedTo[c];
+            if (network.getEdgeWeight(from, to) <= changedWeight[c]) {
+                continue;
+            }
+
+            int child = -1;
+            if (predecessor[to] == from) {
+                child = to;
+            } else if (predecessor[from] == to) {
+                child = from;
+            }
+            if (child == -1 || affectedIn[child] == repair) {
+                continue;
+            }
+
+            // every vertex under the child reached the source through the heavier edge
+            int first = affectedCount;
+            affectedIn[child] = repair;
+            affected[affectedCount++] = child;
+            while (first < affectedCount) {
+                int current = affected[first++];
+                for (int edge = network.firstEdge(current); edge != -1; edge = network.nextEdge(current, edge)) {
+                    int next = network.edgeTargetAt(current, edge);
+                    if (predecessor[next] == current && affectedIn[next] != repair) {
+                        affectedIn[next] = repair;
+                        affected[affectedCount++] = next;
+                    }
+                }
+            }
+        }
+
+        for (int a = 0; a < affectedCount; a++) {
+            distance[affected[a]] = Double.POSITIVE_INFINITY;
+            predecessor[affected[a]] = -1;
+        }
+
+        // seed the vertices that lost their distance from their neighbours that kept it
+        for (int a = 0; a < affectedCount; a++) {
+            int current = affected[a];
+            for (int edge = network.firstEdge(current); edge != -1; edge = network.nextEdge(current, edge)) {
+                int next = network.edgeTargetAt(current, edge);
+                double candidate = distance[next] + network.edgeWeightAt(current, edge);
+                if (affectedIn[next] != repair && candidate < distance[current]) {
+                    distance[current] = candidate;
+                    predecessor[current] = next;
+                }
+            }
+            if (distance[current] != Double.POSITIVE_INFINITY) {
+                heap.insertOrDecrease(current, distance[current]);
+            }
+        }
+
+        // relax the edges that got lighter
+        for (int c = 0; c < changeCount; c++) {
+            int from = changedFrom[c];
+            int to = changedTo[c];
+            double weight = network.getEdgeWeight(from, to);
+            if (weight < changedWeight[c]) {
+                relax(from, to, weight);
+                relax(to, from, weight);
+            }
+        }
+
+        while (!heap.isEmpty()) {
+            int current = heap.removeMin();
+            settledIn[current] = repair;
+
+            for (int edge = network.firstEdge(current); edge != -1; edge = network.nextEdge(current, edge)) {
+                int next = network.edgeTargetAt(current, edge);
+                if (settledIn[next] != repair) {
+                    relax(current, next, network.edgeWeightAt(current, edge));
+                }
+            }
+        }
+
+        this.changeCount = 0;
+        checkNetwork();
+    }
+
+    /**
+     * Lowers the distance of a vertex if it is shorter to reach it through the given edge,
+     * and queues the vertex to pass the improvement on.
+     *
+     * @param from the index of the vertex the edge leaves from
+     * @param to the index of the vertex the edge reaches
+     * @param weight the weight of the edge
+     */
+    private void relax(int from, int to, double weight) {
+        double candidate = distance[from] + weight;
+        if (candidate < distance[to]) {
+            distance[to] = candidate;
+            predecessor[to] = from;
+            heap.insertOrDecrease(to, candidate);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package dataStructures.implementations;
 
 import dataStructures.ADTS.GraphADT;
 import dataStructures.exceptions.EmptyCollectionException;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
 
 
 /**
@@ -21,6 +24,11 @@ public class Graph<T> implements GraphADT<T> {
      */
     protected static int EXPANSION_FATORIAL = 2;
 
+    /**
+     * The number of search scratches each graph keeps for reuse.
+     */
+    private static final int SCRATCH_POOL_SIZE = 4;
+
     /**
      * The array of vertices in the graph.
      */
@@ -36,6 +44,66 @@ public class Graph<T> implements GraphADT<T> {
      */
     protected int numVertices;
 
+    /**
+     * The index of each vertex in the vertices array, so a vertex is found without scanning.
+     */
+    protected IndexMap<T> vertexIndex;
+
+    /**
+     * The all-pairs hop distances and next steps, or null if they were not built
+     * or the vertices or edges changed since.
+     */
+    protected HopTable hopTable;
+
+    /**
+     * The number of times vertices or edges were added or removed, used by the traversal iterators
+     * to detect changes made while they are in use.
+     */
+    protected int modCount;
+
+    /**
+     * The number of removed vertices whose slots were not compacted yet. A removed vertex leaves a null
+     * slot in the vertices array, so the indices of the other vertices stay the same until the next compaction.
+     */
+    protected int tombstones;
+
+    /**
+     * The number of vertices that were added again while an equal vertex was already in the graph.
+     */
+    private int duplicateVertices;
+
+    /**
+     * Whether the graph compacts itself once more than half of its slots are removed vertices.
+     */
+    private boolean autoCompaction = true;
+
+    /**
+     * The search scratches not in use, so searches reuse their arrays instead of allocating new ones.
+     */
+    private SearchScratch[] scratchPool;
+
+    /**
+     * The number of scratches in the pool.
+     */
+    private int pooledScratches;
+
+    /**
+     * The position in neighbourList where the neighbours of each vertex start, with one extra entry
+     * for the end of the last vertex, or null if the neighbours must be listed again.
+     */
+    private int[] neighbourStart;
+
+    /**
+     * The indices of the neighbours of every vertex, vertex after vertex, in the order of their edges.
+     */
+    private int[] neighbourList;
+
+    /**
+     * The connected components, articulation points and bridges, or null if they were not built
+     * or the vertices or edges changed since.
+     */
+    private ConnectivityIndex connectivity;
+
     /**
      * Creates an empty graph with a default capacity.
      */
@@ -43,6 +111,7 @@ public class Graph<T> implements GraphADT<T> {
         this.vertices = (T[]) new Object[DEFAULT_CAPACITY];
         this.adjMatrix = new double[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
         this.numVertices = 0;
+        this.vertexIndex = new IndexMap<>(DEFAULT_CAPACITY);
     }
 
     /**
@@ -54,6 +123,7 @@ public class Graph<T> implements GraphADT<T> {
         this.vertices = (T[]) new Object[initialCapacity];
         this.adjMatrix = new double[initialCapacity][initialCapacity];
         this.numVertices = 0;
+        this.vertexIndex = new IndexMap<>(initialCapacity);
     }
 
     /**
@@ -73,6 +143,8 @@ public class Graph<T> implements GraphADT<T> {
         }
 
         vertices[numVertices] = vertex;
+        indexVertex(numVertices);
+        topologyChanged();
         for (int i = 0; i <= numVertices; i++) {
             adjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
             adjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
@@ -87,23 +159,18 @@ public class Graph<T> implements GraphADT<T> {
     protected void expandCapacity() {
         int newCapacity = numVertices * EXPANSION_FATORIAL;
         T[] newVertices = (T[]) new Object[newCapacity];
-
-        for(int i = 0; i < numVertices; i++) {
-            newVertices[i] = vertices[i];
-        }
+        System.arraycopy(vertices, 0, newVertices, 0, numVertices);
         this.vertices = newVertices;
 
         double[][] newAdjMatrix = new double[newCapacity][newCapacity];
         for (int i = 0; i < numVertices; i++) {
-            for(int j = 0; j < numVertices; j++) {
-                newAdjMatrix[i][j] = adjMatrix[i][j];
-            }
+            System.arraycopy(adjMatrix[i], 0, newAdjMatrix[i], 0, numVertices);
         }
         this.adjMatrix = newAdjMatrix;
     }
 
     /**
-     * Removes a vertex from the graph.
+     * Removes a vertex from the graph. Every copy of the vertex is removed if it was added more than once.
      *
      * @param vertex the vertex to be removed
      * @throws IllegalArgumentException if the vertex is null
@@ -113,40 +180,167 @@ public class Graph<T> implements GraphADT<T> {
         if (vertex == null) {
             throw new IllegalArgumentException("The Element Cant Be Null");
         }
-        for (int i = 0; i < numVertices; i++) {
-            if (vertices[i].equals(vertex)) {
-                removeVertex(i);
-            }
+        for (int index = getIndex(vertex); index != -1; index = getIndex(vertex)) {
+            removeVertex(index);
         }
     }
 
     /**
      * Removes a vertex by its index in the graph.
      *
+     * Only the edges of the vertex are touched: they are removed and the slot of the vertex is left empty
+     * as a tombstone, so the other vertices keep their indices and the removal costs one step per edge
+     * of the vertex. Traversals and searches never reach a tombstone, since it has no edges, and index-based
+     * methods treat its index as invalid. The slots are reclaimed by {@link #compact()}, which runs on its
+     * own once more than half of the slots are tombstones unless automatic compaction is turned off.
+     *
      * @param index the index of the vertex to be removed
      * @throws IllegalArgumentException if the index is invalid
      */
-    private void removeVertex(int index) {
+    protected void removeVertex(int index) {
         if (!indexIsValid(index)) {
             throw new IllegalArgumentException("Invalid vertex index");
         }
 
-        numVertices--;
-        for (int i = index; i < numVertices; i++) {
-            vertices[i] = vertices[i + 1];
+        for (int edge = firstEdge(index); edge != -1; edge = nextEdge(index, edge)) {
+            removeEdge(index, edgeTargetAt(index, edge));
+        }
+
+        T removed = vertices[index];
+        vertices[index] = null;
+        tombstones++;
+        unindexVertex(removed, index);
+        topologyChanged();
+
+        if (autoCompaction && tombstones * 2 > numVertices) {
+            compact();
+        }
+    }
+
+    /**
+     * Reclaims the slots of the removed vertices. The remaining vertices keep their order and are renumbered
+     * from 0, so indices obtained before the compaction must be looked up again.
+     */
+    public void compact() {
+        if (tombstones == 0) {
+            return;
+        }
+
+        int[] newIndex = new int[numVertices];
+        int live = 0;
+        for (int i = 0; i < numVertices; i++) {
+            newIndex[i] = vertices[i] != null ? live++ : -1;
         }
-        vertices[numVertices] = null;
 
-        for (int i = index; i < numVertices; i++) {
-            for (int j = 0; j < numVertices + 1; j++) {
-                adjMatrix[i][j] = adjMatrix[i + 1][j];
-                adjMatrix[j][i] = adjMatrix[j][i + 1];
+        compactEdges(newIndex, live);
+
+        for (int i = 0; i < numVertices; i++) {
+            if (newIndex[i] != -1) {
+                vertices[newIndex[i]] = vertices[i];
             }
         }
+        for (int i = live; i < numVertices; i++) {
+            vertices[i] = null;
+        }
 
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
-            adjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
+        this.numVertices = live;
+        this.tombstones = 0;
+        this.duplicateVertices = 0;
+        vertexIndex.clear();
+        for (int i = 0; i < numVertices; i++) {
+            indexVertex(i);
+        }
+        topologyChanged();
+    }
+
+    /**
+     * Moves the edges of the remaining vertices to their indices after a compaction.
+     * The matrix is rewritten in place: no entry is written before it has been read,
+     * since every vertex moves to an index lower than or equal to its own.
+     *
+     * @param newIndex the index of each vertex after the compaction, -1 for a removed vertex
+     * @param newCount the number of vertices after the compaction
+     */
+    protected void compactEdges(int[] newIndex, int newCount) {
+        for (int i = 0; i < numVertices; i++) {
+            if (newIndex[i] == -1) {
+                continue;
+            }
+            for (int j = 0; j < numVertices; j++) {
+                if (newIndex[j] != -1) {
+                    adjMatrix[newIndex[i]][newIndex[j]] = adjMatrix[i][j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets whether the graph compacts itself once more than half of its slots are removed vertices.
+     * With automatic compaction turned off the indices of the vertices only change on {@link #compact()}.
+     *
+     * @param autoCompaction true to compact automatically, false to compact only when asked to
+     */
+    public void setAutoCompaction(boolean autoCompaction) {
+        this.autoCompaction = autoCompaction;
+    }
+
+    /**
+     * Checks if the vertex at the given index was removed and its slot not compacted yet.
+     *
+     * @param index the index of the slot
+     * @return true if the slot holds a removed vertex, false otherwise
+     */
+    public boolean isRemoved(int index) {
+        return index >= 0 && index < numVertices && vertices[index] == null;
+    }
+
+    /**
+     * Returns the number of vertex slots, removed vertices included. Every vertex index is below it.
+     *
+     * @return the number of vertex slots
+     */
+    public int indexBound() {
+        return numVertices;
+    }
+
+    /**
+     * Drops a removed vertex from the index table. If the vertex was added more than once,
+     * its next copy becomes the one found by value.
+     *
+     * @param removed the removed vertex
+     * @param index the index the vertex had
+     */
+    private void unindexVertex(T removed, int index) {
+        if (vertexIndex.get(removed) != index) {
+            duplicateVertices--;
+            return;
+        }
+
+        vertexIndex.remove(removed);
+        if (duplicateVertices == 0) {
+            return;
+        }
+        for (int i = index + 1; i < numVertices; i++) {
+            if (removed.equals(vertices[i])) {
+                vertexIndex.put(removed, i);
+                duplicateVertices--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the position of the vertex at the given index in the index table.
+     * When the same vertex was added more than once the table keeps its first position.
+     *
+     * @param index the index of the vertex
+     */
+    protected void indexVertex(int index) {
+        int current = vertexIndex.get(vertices[index]);
+        if (current == -1) {
+            vertexIndex.put(vertices[index], index);
+        } else if (current != index) {
+            duplicateVertices++;
         }
     }
 
@@ -156,15 +350,22 @@ public class Graph<T> implements GraphADT<T> {
      * @param vertex the vertex whose index is to be found
      * @return the index of the vertex, or -1 if the vertex is not found
      */
-    protected int getIndex(T vertex) {
-        int index = -1;
-        for (int i = 0; i < numVertices; i++) {
-            if (vertices[i].equals(vertex)) {
-                index = i;
-                break;
-            }
+    public int getIndex(T vertex) {
+        return vertexIndex.get(vertex);
+    }
+
+    /**
+     * Returns the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the vertex at the given index
+     * @throws IllegalArgumentException if the index is invalid
+     */
+    public T getVertex(int index) {
+        if (!indexIsValid(index)) {
+            throw new IllegalArgumentException("Invalid vertex index");
         }
-        return index;
+        return vertices[index];
     }
 
     /**
@@ -185,10 +386,13 @@ public class Graph<T> implements GraphADT<T> {
      * @param indexVertex2 the index of the second vertex
      * @throws IllegalArgumentException if the indices are invalid
      */
-    private void addEdge(int indexVertex1, int indexVertex2) {
+    public void addEdge(int indexVertex1, int indexVertex2) {
         if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
             throw new IllegalArgumentException("Invalid vertex indices");
         }
+        if (adjMatrix[indexVertex1][indexVertex2] == Double.POSITIVE_INFINITY) {
+            topologyChanged();
+        }
         adjMatrix[indexVertex1][indexVertex2] = 0;
         adjMatrix[indexVertex2][indexVertex1] = 0;
     }
@@ -209,20 +413,357 @@ public class Graph<T> implements GraphADT<T> {
      *
      * @param indexVertex1 the index of the first vertex
      * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
      */
-    private void removeEdge(int indexVertex1, int indexVertex2) {
+    public void removeEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+        if (adjMatrix[indexVertex1][indexVertex2] != Double.POSITIVE_INFINITY) {
+            topologyChanged();
+        }
         adjMatrix[indexVertex1][indexVertex2] = Double.POSITIVE_INFINITY;
         adjMatrix[indexVertex2][indexVertex1] = Double.POSITIVE_INFINITY;
     }
 
     /**
-     * Checks if the given index is valid.
+     * Called whenever a vertex or an edge is added or removed.
+     * Drops the hop table, the neighbour lists and the connectivity index, which only hold for the edges
+     * they were built with.
+     */
+    protected void topologyChanged() {
+        this.hopTable = null;
+        this.neighbourStart = null;
+        this.connectivity = null;
+        this.modCount++;
+    }
+
+    /**
+     * Builds the table of hop distances and next steps between every pair of vertices, so that
+     * {@link #hopDistance}, {@link #nextHop} and {@link #iteratorShortestPath} answer without a search.
+     * The table is built with one breadth first search per vertex, run in parallel, takes memory
+     * proportional to the square of the number of vertices and is dropped on the next change of the
+     * vertices or edges. Changing the weight of an existing edge keeps it.
+     * Nothing is built for graphs with more vertices than fit in the table's memory budget, about 3300;
+     * queries on those graphs run a breadth first search each.
+     */
+    public void buildHopTable() {
+        if (numVertices > HopTable.MAX_VERTICES) {
+            this.hopTable = null;
+            return;
+        }
+
+        // let subclasses settle their edge storage before the searches read it concurrently
+        if (numVertices > 0) {
+            firstEdge(0);
+        }
+        this.hopTable = new HopTable(this);
+    }
+
+    /**
+     * Checks if the hop table is built and up to date.
+     *
+     * @return true if the hop table can answer queries, false otherwise
+     */
+    public boolean hasHopTable() {
+        return hopTable != null;
+    }
+
+    /**
+     * Returns the number of edges on the shortest path between two vertices, ignoring weights.
+     *
+     * @param from the first vertex
+     * @param to the second vertex
+     * @return the number of edges, or -1 if there is no path or a vertex is not in the graph
+     */
+    public int hopDistance(T from, T to) {
+        int fromIndex = getIndex(from);
+        int toIndex = getIndex(to);
+
+        if (!indexIsValid(fromIndex) || !indexIsValid(toIndex)) {
+            return -1;
+        }
+        if (hopTable != null) {
+            return hopTable.hops(fromIndex, toIndex);
+        }
+
+        SearchScratch scratch = acquireScratch();
+        try {
+            return breadthFirstSearch(scratch, toIndex, fromIndex) ? (int) scratch.distance[fromIndex] : -1;
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    /**
+     * Returns the first step on a path with the fewest edges between two vertices.
+     *
+     * @param from the vertex the path starts at
+     * @param to the vertex the path ends at
+     * @return the neighbour of from that is one edge closer to to, from itself if both are the same vertex,
+     * or null if there is no path or a vertex is not in the graph
+     */
+    public T nextHop(T from, T to) {
+        int fromIndex = getIndex(from);
+        int toIndex = getIndex(to);
+
+        if (!indexIsValid(fromIndex) || !indexIsValid(toIndex)) {
+            return null;
+        }
+        if (fromIndex == toIndex) {
+            return vertices[fromIndex];
+        }
+
+        int step;
+        if (hopTable != null) {
+            step = hopTable.next(fromIndex, toIndex);
+        } else {
+            SearchScratch scratch = acquireScratch();
+            try {
+                step = breadthFirstSearch(scratch, toIndex, fromIndex) ? scratch.predecessor[fromIndex] : -1;
+            } finally {
+                releaseScratch(scratch);
+            }
+        }
+        return step != -1 ? vertices[step] : null;
+    }
+
+    /**
+     * Checks if there is a path between two vertices.
+     * The first query after a change of the vertices or edges builds the {@link ConnectivityIndex} in time
+     * linear in the size of the graph; every query after that is answered in O(1).
+     *
+     * @param from the first vertex
+     * @param to the second vertex
+     * @return true if both vertices are in the graph and connected, false otherwise
+     */
+    public boolean isReachable(T from, T to) {
+        int fromIndex = getIndex(from);
+        int toIndex = getIndex(to);
+
+        if (!indexIsValid(fromIndex) || !indexIsValid(toIndex)) {
+            return false;
+        }
+        ConnectivityIndex index = connectivity();
+        return index.componentOf(fromIndex) == index.componentOf(toIndex);
+    }
+
+    /**
+     * Returns the number of connected components of the graph.
+     *
+     * @return the number of components, 0 for an empty graph
+     */
+    public int componentCount() {
+        return connectivity().componentCount();
+    }
+
+    /**
+     * Checks if removing a vertex would disconnect other vertices that are connected through it,
+     * such as a room every path between two parts of a building goes through.
+     *
+     * @param vertex the vertex
+     * @return true if the vertex is an articulation point, false otherwise or if it is not in the graph
+     */
+    public boolean isArticulationPoint(T vertex) {
+        int index = getIndex(vertex);
+        return indexIsValid(index) && connectivity().isArticulationPoint(index);
+    }
+
+    /**
+     * Checks if removing the edge between two vertices would disconnect them,
+     * such as a door that is the only way between two parts of a building.
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @return true if the vertices are joined by an edge that is a bridge, false otherwise
+     */
+    public boolean isBridge(T vertex1, T vertex2) {
+        int index1 = getIndex(vertex1);
+        int index2 = getIndex(vertex2);
+        return indexIsValid(index1) && indexIsValid(index2) && connectivity().isBridge(index1, index2);
+    }
+
+    /**
+     * Returns the connectivity index, building it if the vertices or edges changed since it was last built.
+     *
+     * @return the connectivity index of the current graph
+     */
+    private ConnectivityIndex connectivity() {
+        if (connectivity == null) {
+            this.connectivity = new ConnectivityIndex(this);
+        }
+        return connectivity;
+    }
+
+    /**
+     * Takes a search scratch from the pool, or creates one if the pool is empty.
+     * Every scratch taken must be given back with {@link #releaseScratch(SearchScratch)} once the search ends.
+     *
+     * @return a scratch not used by any other search
+     */
+    protected synchronized SearchScratch acquireScratch() {
+        if (pooledScratches > 0) {
+            SearchScratch scratch = scratchPool[--pooledScratches];
+            scratchPool[pooledScratches] = null;
+            return scratch;
+        }
+        return new SearchScratch(numVertices);
+    }
+
+    /**
+     * Gives a search scratch back to the pool. The scratch is dropped if the pool is full.
+     *
+     * @param scratch the scratch, no longer used by its search
+     */
+    protected synchronized void releaseScratch(SearchScratch scratch) {
+        if (scratchPool == null) {
+            this.scratchPool = new SearchScratch[SCRATCH_POOL_SIZE];
+        }
+        if (pooledScratches < scratchPool.length) {
+            scratchPool[pooledScratches++] = scratch;
+        }
+    }
+
+    /**
+     * Runs a breadth first search from a vertex into a scratch. The distance of each reached vertex is its
+     * number of edges away from the source and its predecessor is the vertex it was discovered from.
+     *
+     * @param scratch the scratch the search is recorded in
+     * @param source the index of the source vertex
+     * @param stopAt the index of the vertex at which the search stops once it is discovered, or -1 for none
+     * @return true if stopAt was discovered, false otherwise
+     */
+    boolean breadthFirstSearch(SearchScratch scratch, int source, int stopAt) {
+        scratch.begin(numVertices);
+        scratch.reach(source, 0, -1);
+        if (source == stopAt) {
+            return true;
+        }
+        scratch.queue.enqueue(source);
+
+        try {
+            while (!scratch.queue.isEmpty()) {
+                int current = scratch.queue.dequeue();
+
+                for (int edge = firstEdge(current); edge != -1; edge = nextEdge(current, edge)) {
+                    int i = edgeTargetAt(current, edge);
+                    if (!scratch.isReached(i)) {
+                        scratch.reach(i, scratch.distance[current] + 1, current);
+                        if (i == stopAt) {
+                            return true;
+                        }
+                        scratch.queue.enqueue(i);
+                    }
+                }
+            }
+        } catch (EmptyCollectionException e) {
+            System.out.println(e.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of edges on the shortest path from a vertex to every vertex of the graph, ignoring
+     * weights. The search runs level by level, with the levels of large graphs split across the threads of
+     * the common fork/join pool; see {@link ParallelBreadthFirstSearch}.
+     *
+     * @param source the vertex the paths start at
+     * @return the number of edges to the vertex at each index, or -1 for an index it cannot reach or that
+     * holds no vertex
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public int[] hopDistances(T source) {
+        return hopDistances(getIndex(source));
+    }
+
+    /**
+     * Returns the number of edges on the shortest path from the vertex at the given index to every vertex.
+     *
+     * @param source the index of the vertex the paths start at
+     * @return the number of edges to the vertex at each index, or -1 for an index it cannot reach
+     * @throws IllegalArgumentException if the index is invalid
+     */
+    int[] hopDistances(int source) {
+        // builds the neighbour lists on this thread, so the search only reads them
+        degree(source);
+        return ParallelBreadthFirstSearch.hopDistances(neighbourStart, neighbourList, numVertices, source);
+    }
+
+    /**
+     * Checks if the given index is valid, that is, if it holds a vertex that was not removed.
      *
      * @param index the index to be checked
      * @return true if the index is valid, false otherwise
      */
     protected boolean indexIsValid(int index) {
-        return (index < numVertices && index >= 0);
+        return (index < numVertices && index >= 0 && vertices[index] != null);
+    }
+
+    /**
+     * Returns the weight stored for the edge between two vertices given their indices.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return the weight of the edge, or Double.POSITIVE_INFINITY if no edge exists
+     */
+    public double getEdgeWeight(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            return adjMatrix[index1][index2];
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns a cursor to the first edge leaving the vertex at the given index.
+     * Traversals walk the edges of a vertex with {@link #firstEdge(int)} and
+     * {@link #nextEdge(int, int)}, so subclasses with a different edge storage
+     * only need to override these hooks. In the adjacency matrix the cursor is
+     * the column of the neighbour.
+     *
+     * @param index the index of the vertex
+     * @return a cursor to the first edge, or -1 if the vertex has no edges
+     */
+    protected int firstEdge(int index) {
+        return nextEdge(index, -1);
+    }
+
+    /**
+     * Returns a cursor to the edge that follows the given cursor on the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @param cursor the cursor of the current edge
+     * @return a cursor to the next edge, or -1 if there are no more edges
+     */
+    protected int nextEdge(int index, int cursor) {
+        for (int i = cursor + 1; i < numVertices; i++) {
+            if (adjMatrix[index][i] < Double.POSITIVE_INFINITY) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the vertex reached by the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the index of the neighbouring vertex
+     */
+    protected int edgeTargetAt(int index, int cursor) {
+        return cursor;
+    }
+
+    /**
+     * Returns the weight of the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the weight of the edge
+     */
+    protected double edgeWeightAt(int index, int cursor) {
+        return adjMatrix[index][cursor];
     }
 
     /**
@@ -238,45 +779,14 @@ public class Graph<T> implements GraphADT<T> {
 
     /**
      * Returns an iterator that performs a breadth first search traversal
-     * starting at the given index.
+     * starting at the given index. The traversal is lazy: each call to next
+     * visits one vertex and queues its unvisited neighbours.
      *
      * @param startIndex the index to begin the search from
      * @return an iterator that performs a breadth first traversal
      */
     private Iterator<T> iteratorBFS(int startIndex) {
-        Integer x;
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<Integer>();
-        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<T>();
-        if (!indexIsValid(startIndex)) {
-            return resultList.iterator();
-        }
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            visited[i] = false;
-        }
-        traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
-
-        try {
-            while (!traversalQueue.isEmpty()) {
-                x = traversalQueue.dequeue();
-                resultList.addToRear(vertices[x]);
-                /**
-                 * Find all vertices adjacent to x that have not been visited
-                 * and queue them up
-                 */
-                for (int i = 0; i < numVertices; i++) {
-                    if (adjMatrix[x][i] < Double.POSITIVE_INFINITY && !visited[i]) {
-                        traversalQueue.enqueue(i);
-                        visited[i] = true;
-                    }
-                }
-            }
-        } catch (EmptyCollectionException ex) {
-            System.out.println(ex.getMessage());
-        }
-
-        return resultList.iterator();
+        return new BFSIterator(startIndex);
     }
 
     /**
@@ -292,52 +802,14 @@ public class Graph<T> implements GraphADT<T> {
 
     /**
      * Returns an iterator that performs a depth first search traversal starting
-     * at the given index.
+     * at the given index. The traversal is lazy: each call to next walks the
+     * stack only until the next unvisited vertex is found.
      *
      * @param startIndex the index to begin the search traversal from
      * @return an iterator that performs a depth first traversal
      */
     private Iterator<T> iteratorDFS(int startIndex) {
-        Integer x;
-        boolean found;
-        LinkedStack<Integer> traversalStack = new LinkedStack<Integer>();
-        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<T>();
-        boolean[] visited = new boolean[numVertices];
-        if (!indexIsValid(startIndex)) {
-            return resultList.iterator();
-        }
-        for (int i = 0; i < numVertices; i++) {
-            visited[i] = false;
-        }
-        traversalStack.push(startIndex);
-        resultList.addToRear(vertices[startIndex]);
-        visited[startIndex] = true;
-
-        try {
-            while (!traversalStack.isEmpty()) {
-                x = traversalStack.peek();
-                found = false;
-                /**
-                 * Find a vertex adjacent to x that has not been visited and
-                 * push it on the stack
-                 */
-                for (int i = 0; (i < numVertices) && !found; i++) {
-                    if (adjMatrix[x][i] < Double.POSITIVE_INFINITY && !visited[i]) {
-                        traversalStack.push(i);
-                        resultList.addToRear(vertices[i]);
-                        visited[i] = true;
-                        found = true;
-                    }
-                }
-                if (!found && !traversalStack.isEmpty()) {
-                    traversalStack.pop();
-                }
-            }
-        } catch (EmptyCollectionException ex) {
-            System.out.println(ex.getMessage());
-        }
-
-        return resultList.iterator();
+        return new DFSIterator(startIndex);
     }
 
     /**
@@ -362,55 +834,89 @@ public class Graph<T> implements GraphADT<T> {
             return result.iterator();
         }
 
-        LinkedQueue<Integer> queue = new LinkedQueue<>();
-        boolean[] visited = new boolean[numVertices];
-        int[] path = new int[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            path[i] = -1;
+        if (hopTable != null) {
+            ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+            if (hopTable.hops(startIndex, targetIndex) == -1) {
+                return resultList.iterator();
+            }
+            for (int at = startIndex; at != targetIndex; at = hopTable.next(at, targetIndex)) {
+                resultList.addToRear(vertices[at]);
+            }
+            resultList.addToRear(vertices[targetIndex]);
+            return resultList.iterator();
         }
 
-        queue.enqueue(startIndex);
-        visited[startIndex] = true;
-
-        boolean found = false;
-
+        SearchScratch scratch = acquireScratch();
         try {
-            while (!queue.isEmpty() && !found) {
-                int current = queue.dequeue();
-
-                // Explore neighbors
-                for (int i = 0; i < numVertices; i++) {
-                    if (adjMatrix[current][i] < Double.POSITIVE_INFINITY && !visited[i]) {
-                        queue.enqueue(i);
-                        visited[i] = true;
-                        path[i] = current;
-
-                        // if the target is found
-                        if (i == targetIndex) {
-                            found = true;
-                            break;
-                        }
-                    }
-                }
+            // If no path exists
+            if (!breadthFirstSearch(scratch, startIndex, targetIndex)) {
+                return new ArrayUnorderedList<T>().iterator(); // Empty iterator
             }
-        } catch (EmptyCollectionException e) {
-            System.out.println(e.getMessage());
+
+            // Reconstruct the path
+            return buildPath(targetIndex, scratch.predecessor).iterator();
+        } finally {
+            releaseScratch(scratch);
         }
+    }
 
-        // If no path exists
-        if (!found) {
-            return new ArrayUnorderedList<T>().iterator(); // Empty iterator
+    /**
+     * Builds the path that ends at the given vertex by following the predecessors back to its start.
+     *
+     * @param end the index of the last vertex of the path
+     * @param predecessor the predecessor of each vertex, -1 at the start of the path
+     * @return the vertices of the path in order from its start to the given vertex
+     */
+    ArrayUnorderedList<T> buildPath(int end, int[] predecessor) {
+        int length = 0;
+        for (int at = end; at != -1; at = predecessor[at]) {
+            length++;
         }
 
-        // Reconstruct the path
-        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
-        int current = targetIndex;
-        while (current != -1) {
-            resultList.addToFront(vertices[current]);
-            current = path[current];
+        int[] steps = new int[length];
+        int position = length;
+        for (int at = end; at != -1; at = predecessor[at]) {
+            steps[--position] = at;
         }
 
-        return resultList.iterator();
+        ArrayUnorderedList<T> path = new ArrayUnorderedList<>(Math.max(length, 1));
+        for (int step : steps) {
+            path.addToRear(vertices[step]);
+        }
+        return path;
+    }
+
+    /**
+     * Computes the breadth first tree from a source vertex into a caller-owned result object.
+     * The distance of each vertex in the tree is its number of edges away from the source,
+     * and its path is the one {@link #iteratorShortestPath} would return.
+     *
+     * @param source the source vertex
+     * @param tree the tree to be filled, reused between calls
+     * @return the filled tree, empty if the source is not in the graph
+     */
+    public ShortestPathTree<T> breadthFirstTree(T source, ShortestPathTree<T> tree) {
+        int sourceIndex = getIndex(source);
+        tree.reset(this, sourceIndex);
+
+        if (!indexIsValid(sourceIndex)) {
+            return tree;
+        }
+
+        SearchScratch scratch = acquireScratch();
+        try {
+            breadthFirstSearch(scratch, sourceIndex, -1);
+            for (int i = 0; i < numVertices; i++) {
+                if (scratch.isReached(i)) {
+                    tree.distance[i] = scratch.distance[i];
+                    tree.predecessor[i] = scratch.predecessor[i];
+                }
+            }
+        } finally {
+            releaseScratch(scratch);
+        }
+
+        return tree;
     }
 
     /**
@@ -420,7 +926,7 @@ public class Graph<T> implements GraphADT<T> {
      */
     @Override
     public boolean isEmpty() {
-        return this.numVertices == 0;
+        return size() == 0;
     }
 
     /**
@@ -433,26 +939,46 @@ public class Graph<T> implements GraphADT<T> {
         if (isEmpty()) {
             return false;
         }
+        if (connectivity != null) {
+            return connectivity.componentCount() == 1;
+        }
 
-        Iterator it = iteratorBFS(0);
+        int start = 0;
+        while (vertices[start] == null) {
+            start++;
+        }
+
+        int live = size();
+        if (numVertices >= ParallelBreadthFirstSearch.PARALLEL_THRESHOLD) {
+            int reached = 0;
+            for (int hops : hopDistances(start)) {
+                if (hops != -1) {
+                    reached++;
+                }
+            }
+            return reached == live;
+        }
+
+        BFSIterator it = new BFSIterator(start);
         int counter = 0;
 
-        while (it.hasNext()) {
-            it.next();
+        // every vertex is reached once counter gets to the number of vertices, so the walk can stop there
+        while (counter < live && it.hasNext()) {
+            it.nextIndex();
             counter++;
         }
 
-        return counter == numVertices;
+        return counter == live;
     }
 
     /**
-     * Returns the number of vertices in the graph.
+     * Returns the number of vertices in the graph. Removed vertices waiting for compaction are not counted.
      *
      * @return the number of vertices in the graph
      */
     @Override
     public int size() {
-        return this.numVertices;
+        return this.numVertices - this.tombstones;
     }
 
     /**
@@ -464,7 +990,9 @@ public class Graph<T> implements GraphADT<T> {
         ArrayUnorderedList<T> newVertices = new ArrayUnorderedList<>();
 
         for(int i = 0; i < numVertices; i++){
-            newVertices.addToRear(vertices[i]);
+            if (vertices[i] != null) {
+                newVertices.addToRear(vertices[i]);
+            }
         }
         return newVertices;
     }
@@ -482,21 +1010,18 @@ public class Graph<T> implements GraphADT<T> {
      * Prints a visualization of the graph's vertices and their connections.
      */
     public void printGraph() {
-        ArrayUnorderedList<T> vertices = this.getVertices();
-        double[][] adjMatrix = this.getAdjMatrix();
-
         System.out.println("=== Graph Visualization ===");
 
-        for (int i = 0; i < this.size(); i++) {
-            if (vertices.getByIndex(i) != null) {
-                System.out.printf("[%s]\n", vertices.getByIndex(i));
+        for (int i = 0; i < numVertices; i++) {
+            if (vertices[i] != null) {
+                System.out.printf("[%s]\n", vertices[i]);
 
                 String connections = "   ➯ ";
                 boolean hasConnections = false;
 
-                for (int j = 0; j < this.size(); j++) {
-                    if (adjMatrix[i][j] != Double.POSITIVE_INFINITY) {
-                        connections += vertices.getByIndex(j) + "   ";
+                for (int j = 0; j < numVertices; j++) {
+                    if (getEdgeWeight(i, j) != Double.POSITIVE_INFINITY) {
+                        connections += vertices[j] + "   ";
                         hasConnections = true;
                     }
                 }
@@ -543,7 +1068,7 @@ public class Graph<T> implements GraphADT<T> {
             result += "" + i + "\t";
 
             for (int j = 0; j < numVertices; j++) {
-                result += "" + adjMatrix[i][j] + " ";
+                result += "" + getEdgeWeight(i, j) + " ";
 
             }
             result += "\n";
@@ -555,7 +1080,7 @@ public class Graph<T> implements GraphADT<T> {
 
         for (int i = 0; i < numVertices; i++) {
             result += "" + i + "\t";
-            result += vertices[i].toString() + "\n";
+            result += (vertices[i] != null ? vertices[i].toString() : "(removed)") + "\n";
         }
         result += "\n";
         return result;
@@ -569,19 +1094,266 @@ public class Graph<T> implements GraphADT<T> {
      * @return an ArrayUnorderedList containing the neighbors of the specified vertex
      */
     public ArrayUnorderedList<T> getNeighbours(T element){
-        int elementIndex = getIndex(element);
-        ArrayUnorderedList<T> neighbours = new ArrayUnorderedList<>();
+        return getNeighbours(getIndex(element));
+    }
+
+    /**
+     * Retrieves the neighbors of the vertex at the given index.
+     *
+     * @param elementIndex the index of the vertex whose neighbors are to be found
+     * @return an ArrayUnorderedList containing the neighbors of the vertex
+     * @throws IllegalArgumentException if the index is invalid
+     */
+    public ArrayUnorderedList<T> getNeighbours(int elementIndex){
+        int degree = degree(elementIndex);
+        ArrayUnorderedList<T> neighbours = new ArrayUnorderedList<>(Math.max(degree, 1));
+
+        // listed from the last edge to the first, the order this method has always returned
+        int start = neighbourStart[elementIndex];
+        for (int k = degree - 1; k >= 0; k--) {
+            neighbours.addToRear(vertices[neighbourList[start + k]]);
+        }
 
-        if (!indexIsValid(elementIndex)) {
+        return neighbours;
+    }
+
+    /**
+     * Returns the number of neighbours of the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the number of vertices connected to it by an edge
+     * @throws IllegalArgumentException if the index is invalid
+     */
+    public int degree(int index) {
+        if (!indexIsValid(index)) {
             throw new IllegalArgumentException("The vertex is not in the graph.");
         }
+        if (neighbourStart == null) {
+            listNeighbours();
+        }
+        return neighbourStart[index + 1] - neighbourStart[index];
+    }
 
-        for(int i = 0; i < numVertices; i++){
-            if(adjMatrix[elementIndex][i] < Double.POSITIVE_INFINITY){
-                neighbours.addToFront(vertices[i]);
+    /**
+     * Returns a neighbour of the vertex at the given index, counting the neighbours in the order of their edges.
+     * Together with {@link #degree(int)} it walks the neighbours without creating any object:
+     * {@code for (int k = 0; k < degree(v); k++) neighbour(v, k)}.
+     *
+     * @param index the index of the vertex
+     * @param k the position of the neighbour, from 0 to the degree of the vertex minus one
+     * @return the index of the neighbour
+     * @throws IllegalArgumentException if the index is invalid or there is no neighbour at that position
+     */
+    public int neighbour(int index, int k) {
+        if (k < 0 || k >= degree(index)) {
+            throw new IllegalArgumentException("Invalid neighbour position");
+        }
+        return neighbourList[neighbourStart[index] + k];
+    }
+
+    /**
+     * Passes the index of every neighbour of the vertex at the given index to an action,
+     * in the order of their edges.
+     *
+     * @param index the index of the vertex
+     * @param action the action to run for each neighbour
+     * @throws IllegalArgumentException if the index is invalid
+     */
+    public void forEachNeighbour(int index, IntConsumer action) {
+        int degree = degree(index);
+        int start = neighbourStart[index];
+        for (int i = start; i < start + degree; i++) {
+            action.accept(neighbourList[i]);
+        }
+    }
+
+    /**
+     * Lists the neighbours of every vertex into one array, so later neighbour queries read them directly
+     * instead of walking the edges. The lists are kept until the vertices or edges change.
+     */
+    private void listNeighbours() {
+        int[] start = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++) {
+            int degree = 0;
+            for (int edge = firstEdge(i); edge != -1; edge = nextEdge(i, edge)) {
+                degree++;
             }
+            start[i + 1] = start[i] + degree;
         }
 
-        return neighbours;
+        int[] list = new int[start[numVertices]];
+        for (int i = 0; i < numVertices; i++) {
+            int position = start[i];
+            for (int edge = firstEdge(i); edge != -1; edge = nextEdge(i, edge)) {
+                list[position++] = edgeTargetAt(i, edge);
+            }
+        }
+
+        this.neighbourList = list;
+        this.neighbourStart = start;
+    }
+
+    /**
+     * Marks a vertex in a visited bitset.
+     *
+     * @param visited the bitset, one bit per vertex
+     * @param index the index of the vertex
+     */
+    private static void markVisited(long[] visited, int index) {
+        visited[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Checks if a vertex is marked in a visited bitset.
+     *
+     * @param visited the bitset, one bit per vertex
+     * @param index the index of the vertex
+     * @return true if the vertex is marked, false otherwise
+     */
+    private static boolean isVisited(long[] visited, int index) {
+        return (visited[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * A breadth first traversal that advances one vertex per call to next.
+     * It only holds the queue of discovered vertices and a visited bitset.
+     */
+    private class BFSIterator implements Iterator<T> {
+        private final IntArrayQueue traversalQueue;
+        private final long[] visited;
+        private final int expectedModCount;
+
+        /**
+         * Starts a traversal at the given index. An invalid index gives an empty traversal.
+         *
+         * @param startIndex the index to begin the search from
+         */
+        BFSIterator(int startIndex) {
+            this.traversalQueue = new IntArrayQueue();
+            this.visited = new long[(numVertices + 63) >>> 6];
+            this.expectedModCount = modCount;
+
+            if (indexIsValid(startIndex)) {
+                traversalQueue.enqueue(startIndex);
+                markVisited(visited, startIndex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !traversalQueue.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            return vertices[nextIndex()];
+        }
+
+        /**
+         * Visits the next vertex and queues its unvisited neighbours.
+         *
+         * @return the index of the visited vertex
+         */
+        int nextIndex() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int x = traversalQueue.dequeue();
+            for (int edge = firstEdge(x); edge != -1; edge = nextEdge(x, edge)) {
+                int i = edgeTargetAt(x, edge);
+                if (!isVisited(visited, i)) {
+                    traversalQueue.enqueue(i);
+                    markVisited(visited, i);
+                }
+            }
+            return x;
+        }
+    }
+
+    /**
+     * A depth first traversal that advances one vertex per call to next.
+     * It holds the stack of open vertices, the edge cursor where each of them
+     * resumes its scan and a visited bitset. The next vertex is found one step
+     * ahead, so hasNext can tell when the traversal is over.
+     */
+    private class DFSIterator implements Iterator<T> {
+        private final IntArrayStack traversalStack;
+        private final long[] visited;
+        private final int[] edgeCursor;
+        private final int expectedModCount;
+        private int upcoming;
+
+        /**
+         * Starts a traversal at the given index. An invalid index gives an empty traversal.
+         *
+         * @param startIndex the index to begin the search traversal from
+         */
+        DFSIterator(int startIndex) {
+            this.traversalStack = new IntArrayStack();
+            this.visited = new long[(numVertices + 63) >>> 6];
+            this.edgeCursor = new int[numVertices];
+            this.expectedModCount = modCount;
+            this.upcoming = -1;
+
+            if (indexIsValid(startIndex)) {
+                open(startIndex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return upcoming != -1;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T result = vertices[upcoming];
+            advance();
+            return result;
+        }
+
+        /**
+         * Pushes a vertex on the stack and makes it the next one returned.
+         *
+         * @param index the index of the vertex
+         */
+        private void open(int index) {
+            traversalStack.push(index);
+            markVisited(visited, index);
+            edgeCursor[index] = firstEdge(index);
+            upcoming = index;
+        }
+
+        /**
+         * Finds the next unvisited vertex adjacent to the top of the stack,
+         * popping the vertices that have none left.
+         */
+        private void advance() {
+            upcoming = -1;
+
+            while (!traversalStack.isEmpty()) {
+                int x = traversalStack.peek();
+                while (edgeCursor[x] != -1) {
+                    int i = edgeTargetAt(x, edgeCursor[x]);
+                    edgeCursor[x] = nextEdge(x, edgeCursor[x]);
+                    if (!isVisited(visited, i)) {
+                        open(i);
+                        return;
+                    }
+                }
+                traversalStack.pop();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package dataStructures.implementations;
+
+import java.util.stream.IntStream;
+
+/**
+ * A table with the number of edges on the shortest path between every pair of vertices of a graph
+ * and the first step of that path.
+ *
+ * The table is filled by one breadth first search from every vertex, run in parallel. The search from a
+ * vertex t fills the row of t: for every vertex v, the distance from v to t and the neighbour of v that is
+ * one edge closer to t. Distances are kept as shorts and steps as ints, so the table takes 6 bytes per pair,
+ * and tables are only built while they fit in {@link #MAX_BYTES}: about 3300 vertices. Larger graphs answer
+ * with a search per query instead.
+ */
+class HopTable {
+    /**
+     * The number of bytes the table takes for each pair of vertices.
+     */
+    private static final int BYTES_PER_PAIR = Short.BYTES + Integer.BYTES;
+
+    /**
+     * The most memory a table may take.
+     */
+    static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The largest number of vertices a table can be built for within {@link #MAX_BYTES}.
+     */
+    static final int MAX_VERTICES = (int) Math.sqrt((double) MAX_BYTES / BYTES_PER_PAIR);
+
+    /**
+     * The number of vertices of the graph when the table was built.
+     */
+    private final int size;
+
+    /**
+     * The distance in edges from each vertex to each other vertex, -1 if there is no path.
+     * The distance from v to t is at t * size + v.
+     */
+    private final short[] hops;
+
+    /**
+     * The first step on a shortest path from each vertex to each other vertex, -1 if there is no path.
+     * The step from v towards t is at t * size + v.
+     */
+    private final int[] next;
+
+    /**
+     * Builds the table for the current edges of a graph.
+     *
+     * @param graph the graph, with at most {@link #MAX_VERTICES} vertices
+     */
+    HopTable(Graph<?> graph) {
+        this.size = graph.numVertices;
+        this.hops = new short[size * size];
+        this.next = new int[size * size];
+
+        // searches only read the graph, so they can run at the same time
+        IntStream.range(0, size).parallel().forEach(target -> fillRow(graph, target));
+    }
+
+    /**
+     * Fills the row of a vertex with a breadth first search from it.
+     *
+     * @param graph the graph
+     * @param target the index of the vertex the row belongs to
+     */
+    private void fillRow(Graph<?> graph, int target) {
+        int row = target * size;
+        for (int v = 0; v < size; v++) {
+            hops[row + v] = -1;
+            next[row + v] = -1;
+        }
+
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = target;
+        hops[row + target] = 0;
+        next[row + target] = target;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int edge = graph.firstEdge(current); edge != -1; edge = graph.nextEdge(current, edge)) {
+                int neighbour = graph.edgeTargetAt(current, edge);
+                if (hops[row + neighbour] == -1) {
+                    hops[row + neighbour] = (short) (hops[row + current] + 1);
+                    next[row + neighbour] = current;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of vertices the table was built for.
+     *
+     * @return the number of vertices
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of edges on the shortest path between two vertices.
+     *
+     * @param from the index of the first vertex
+     * @param to the index of the second vertex
+     * @return the number of edges, or -1 if there is no path
+     */
+    int hops(int from, int to) {
+        return hops[to * size + from];
+    }
+
+    /**
+     * Returns the first step on a shortest path between two vertices.
+     *
+     * @param from the index of the vertex the path starts at
+     * @param to the index of the vertex the path ends at
+     * @return the index of the neighbour of from that is one edge closer to to, from itself if both are
+     * the same vertex, or -1 if there is no path
+     */
+    int next(int from, int to) {
+        return next[to * size + from];
+    }
+}
@@ -0,0 +1,216 @@
+package dataStructures.implementations;
+
+/**
+ * A hash table that maps elements to non-negative int indices.
+ *
+ * The table uses open addressing with linear probing, keeps the keys and the indices in two
+ * parallel arrays and never stores the indices as objects. Lookups, insertions and removals take
+ * O(1) expected time. Elements are compared with {@code equals} and hashed with {@code hashCode}.
+ *
+ * @param <T> the type of the elements used as keys
+ */
+public class IndexMap<T> {
+    /**
+     * The default initial number of slots of the table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The keys stored in the table, null for an empty slot.
+     */
+    private T[] keys;
+
+    /**
+     * The index associated with the key in the same slot.
+     */
+    private int[] values;
+
+    /**
+     * The number of keys in the table.
+     */
+    private int size;
+
+    /**
+     * Creates an empty map with the default capacity.
+     */
+    public IndexMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map able to hold the given number of keys before growing.
+     *
+     * @param expectedSize the number of keys expected
+     */
+    public IndexMap(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity *= 2;
+        }
+
+        this.keys = (T[]) new Object[capacity];
+        this.values = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the index associated with the given key.
+     *
+     * @param key the key to look up
+     * @return the index of the key, or -1 if the key is not in the map
+     */
+    public int get(T key) {
+        if (key == null) {
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key); keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return values[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the given key is in the map.
+     *
+     * @param key the key to look up
+     * @return true if the key is in the map, false otherwise
+     */
+    public boolean containsKey(T key) {
+        return get(key) != -1;
+    }
+
+    /**
+     * Associates an index with a key, replacing the index the key had before.
+     *
+     * @param key the key
+     * @param index the index to associate with the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void put(T key, int index) {
+        if (key == null) {
+            throw new IllegalArgumentException("The Key Cant Be Null");
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            expandCapacity();
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotOf(key);
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                values[slot] = index;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = index;
+        size++;
+    }
+
+    /**
+     * Removes a key and its index from the map.
+     * The keys that follow it in the same probe run are moved back, so no tombstones are left behind.
+     *
+     * @param key the key to be removed
+     * @return the index the key had, or -1 if the key was not in the map
+     */
+    public int remove(T key) {
+        if (key == null) {
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotOf(key);
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == null) {
+            return -1;
+        }
+
+        int removed = values[slot];
+        int hole = slot;
+        int next = (hole + 1) & mask;
+
+        while (keys[next] != null) {
+            int home = slotOf(keys[next]);
+            // the key can fill the hole if its home slot is not between the hole and its current slot
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        keys[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes every key from the map.
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map has no keys, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the home slot of a key.
+     *
+     * @param key the key
+     * @return the slot where the probe for the key starts
+     */
+    private int slotOf(T key) {
+        int hash = key.hashCode();
+        // spread the high bits so that table sizes that are powers of two use them
+        hash ^= (hash >>> 16);
+        return hash & (keys.length - 1);
+    }
+
+    /**
+     * Doubles the number of slots and inserts every key again.
+     */
+    private void expandCapacity() {
+        T[] oldKeys = keys;
+        int[] oldValues = values;
+
+        this.keys = (T[]) new Object[oldKeys.length * 2];
+        this.values = new int[oldKeys.length * 2];
+        this.size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dataStructures.implementations;
+
+import dataStructures.exceptions.EmptyCollectionException;
+
+/**
+ * An indexed d-ary min-heap of vertex indices ordered by a double key.
+ *
+ * The heap holds indices in the range [0, capacity) and remembers the position of each index,
+ * so the key of an index already in the heap can be decreased in O(log n) without searching.
+ * Everything is stored in primitive arrays, so using the heap allocates no objects.
+ */
+public class IndexedMinHeap {
+    /**
+     * The number of children of each node. A 4-ary heap is shallower than a binary heap
+     * and keeps the children of a node next to each other in memory.
+     */
+    private static final int ARITY = 4;
+
+    /**
+     * The indices stored in the heap, in heap order.
+     */
+    private int[] heap;
+
+    /**
+     * The position of each index in the heap array, or -1 if the index is not in the heap.
+     */
+    private int[] position;
+
+    /**
+     * The key of each index in the heap.
+     */
+    private double[] keys;
+
+    /**
+     * The current number of indices in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates an empty heap able to hold the indices [0, capacity).
+     *
+     * @param capacity the number of distinct indices the heap can hold
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            position[i] = -1;
+        }
+    }
+
+    /**
+     * Inserts an index with the given key, or lowers its key if the index is already in the heap
+     * with a larger key.
+     *
+     * @param index the index to be inserted
+     * @param key the key of the index
+     */
+    public void insertOrDecrease(int index, double key) {
+        int current = position[index];
+
+        if (current == -1) {
+            heap[size] = index;
+            position[index] = size;
+            keys[index] = key;
+            size++;
+            siftUp(size - 1);
+        } else if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(current);
+        }
+    }
+
+    /**
+     * Removes and returns the index with the smallest key.
+     *
+     * @return the index with the smallest key
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public int removeMin() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("The Heap Is Empty");
+        }
+
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns the smallest key in the heap without removing its index.
+     *
+     * @return the smallest key
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public double minKey() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("The Heap Is Empty");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Checks if the given index is in the heap.
+     *
+     * @param index the index to be checked
+     * @return true if the index is in the heap, false otherwise
+     */
+    public boolean contains(int index) {
+        return position[index] != -1;
+    }
+
+    /**
+     * Removes every index from the heap. Only the indices still in the heap are touched.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of indices in the heap.
+     *
+     * @return the number of indices in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct indices the heap can hold.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity() {
+        return position.length;
+    }
+
+    /**
+     * Moves the index at the given heap position up until its parent has a smaller or equal key.
+     *
+     * @param current the heap position to move up
+     */
+    private void siftUp(int current) {
+        int index = heap[current];
+        double key = keys[index];
+
+        while (current > 0) {
+            int parent = (current - 1) / ARITY;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[current] = heap[parent];
+            position[heap[current]] = current;
+            current = parent;
+        }
+
+        heap[current] = index;
+        position[index] = current;
+    }
+
+    /**
+     * Moves the index at the given heap position down until all its children have a larger or equal key.
+     *
+     * @param current the heap position to move down
+     */
+    private void siftDown(int current) {
+        int index = heap[current];
+        double key = keys[index];
+
+        while (true) {
+            int firstChild = current * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int smallest = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (keys[heap[child]] < keys[heap[smallest]]) {
+                    smallest = child;
+                }
+            }
+
+            if (keys[heap[smallest]] >= key) {
+                break;
+            }
+            heap[current] = heap[smallest];
+            position[heap[current]] = current;
+            current = smallest;
+        }
+
+        heap[current] = index;
+        position[index] = current;
+    }
+}
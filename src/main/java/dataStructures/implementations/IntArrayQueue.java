@@ -0,0 +1,146 @@
+package dataStructures.implementations;
+
+import dataStructures.exceptions.EmptyCollectionException;
+
+/**
+ * This class represents a queue of primitive ints that follows the First-In-First-Out (FIFO) principle.
+ * The elements are kept in a circular array that doubles when full, so enqueuing an int
+ * allocates no node and no Integer box.
+ */
+public class IntArrayQueue {
+    /**
+     * constant to represent the default capacity of the array
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * the position of the element at the front of the queue
+     */
+    private int front;
+
+    /**
+     * the number of elements in the queue
+     */
+    private int count;
+
+    /**
+     * circular array of ints to represent the queue
+     */
+    private int[] queue;
+
+    /**
+     * Creates an empty queue using the default capacity.
+     */
+    public IntArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue using the specified capacity.
+     * @param initialCapacity represents the specified capacity
+     */
+    public IntArrayQueue(int initialCapacity) {
+        front = 0;
+        count = 0;
+        queue = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Adds the specified element to the rear of this queue,
+     * expanding the capacity of the queue array if necessary.
+     * @param element int to be added to the rear of the queue
+     */
+    public void enqueue(int element) {
+        if (count == queue.length) {
+            expandCapacity();
+        }
+
+        queue[(front + count) % queue.length] = element;
+        count++;
+    }
+
+    /**
+     * Removes the element at the front of this queue and returns it.
+     * @return int element removed from the front of the queue
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    public int dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Queue");
+        }
+
+        int result = queue[front];
+        front = (front + 1) % queue.length;
+        count--;
+
+        return result;
+    }
+
+    /**
+     * Returns the element at the front of this queue without removing it.
+     * @return int element at the front of the queue
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    public int first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Queue");
+        }
+
+        return queue[front];
+    }
+
+    /**
+     * Removes every element from this queue, keeping its capacity.
+     */
+    public void clear() {
+        front = 0;
+        count = 0;
+    }
+
+    /**
+     * Expands the queue capacity (with a factor of 2), moving the elements to the start of the new array
+     */
+    private void expandCapacity() {
+        int[] newQueue = new int[queue.length * 2];
+
+        for (int i = 0; i < count; i++) {
+            newQueue[i] = queue[(front + i) % queue.length];
+        }
+
+        front = 0;
+        queue = newQueue;
+    }
+
+    /**  Returns true if this queue contains no elements.
+     *   @return boolean whether this queue is empty or not
+     */
+    public boolean isEmpty() {
+        return (count == 0);
+    }
+
+    /**  Returns the number of elements in this queue.
+     *   @return int number of elements in this queue
+     */
+    public int size() {
+        return count;
+    }
+
+    /**  Returns a string representation of this queue.
+     *   @return String representation of this queue
+     */
+    @Override
+    public String toString() {
+        String result = "IntArrayQueue[";
+
+        for (int i = 0; i < count; i++) {
+            result += queue[(front + i) % queue.length];
+
+            if (i < count - 1) {
+                result += ", ";
+            }
+        }
+
+        result += "]";
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package dataStructures.implementations;
+
+import dataStructures.exceptions.EmptyCollectionException;
+
+/**
+ * This class represents a stack of primitive ints that follows the Last-In-First-Out (LIFO) principle.
+ * The elements are kept in an array that doubles when full, so pushing an int
+ * allocates no node and no Integer box.
+ */
+public class IntArrayStack {
+    /**
+     * constant to represent the default capacity of the array
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * int that represents both the number of elements and the next
+     * available position in the array
+     */
+    private int top;
+
+    /**
+     * array of ints to represent the stack
+     */
+    private int[] stack;
+
+    /**
+     * Creates an empty stack using the default capacity.
+     */
+    public IntArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack using the specified capacity.
+     * @param initialCapacity represents the specified capacity
+     */
+    public IntArrayStack(int initialCapacity) {
+        top = 0;
+        stack = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Adds the specified element to the top of this stack,
+     * expanding the capacity of the stack array if necessary.
+     * @param element int to be pushed onto stack
+     */
+    public void push(int element) {
+        if (top == stack.length) {
+            expandCapacity();
+        }
+
+        stack[top] = element;
+        top++;
+    }
+
+    /**
+     * Removes the element at the top of this stack and returns it.
+     * @return int element removed from top of stack
+     * @throws EmptyCollectionException if the stack is empty
+     */
+    public int pop() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Stack");
+        }
+
+        top--;
+        return stack[top];
+    }
+
+    /**
+     * Returns the element at the top of this stack without removing it.
+     * @return int element on top of stack
+     * @throws EmptyCollectionException if the stack is empty
+     */
+    public int peek() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Stack");
+        }
+
+        return stack[top - 1];
+    }
+
+    /**
+     * Removes every element from this stack, keeping its capacity.
+     */
+    public void clear() {
+        top = 0;
+    }
+
+    /**
+     * Expands the stack capacity (with a factor of 2)
+     */
+    private void expandCapacity() {
+        int[] newStack = new int[stack.length * 2];
+
+        for (int i = 0; i < top; i++) {
+            newStack[i] = stack[i];
+        }
+
+        stack = newStack;
+    }
+
+    /**  Returns true if this stack contains no elements.
+     *   @return boolean whether this stack is empty or not
+     */
+    public boolean isEmpty() {
+        return (top == 0);
+    }
+
+    /**  Returns the number of elements in this stack.
+     *   @return int number of elements in this stack
+     */
+    public int size() {
+        return top;
+    }
+
+    /**  Returns a string representation of this stack.
+     *   @return String representation of this stack
+     */
+    @Override
+    public String toString() {
+        String result = "IntArrayStack[";
+
+        for (int i = 0; i < top; i++) {
+            result += stack[i];
+
+            if (i < top - 1) {
+                result += ", ";
+            }
+        }
+
+        result += "]";
+        return result;
+    }
+}
@@ -0,0 +1,276 @@
+package dataStructures.implementations;
+
+import dataStructures.ADTS.HeuristicADT;
+
+/**
+ * An A* heuristic built from the distances of a few landmark vertices to every vertex of a network (ALT).
+ *
+ * By the triangle inequality the distance between two vertices is at least the difference of their distances
+ * to any landmark, so the largest difference over all landmarks is a consistent lower bound. The landmarks are
+ * picked one at a time as the vertex farthest from the landmarks already picked, and their distances are kept
+ * in one primitive array with a row per landmark.
+ *
+ * The tables are only correct for the weights they were computed with, so they are computed again the next
+ * time an estimate is asked for once the network changed in any way since. The one exception is slack mode:
+ * an increase of a weight reported with {@link #edgeChanged(double, double)} right after it was made keeps the
+ * tables, since the old distances then stay below the new ones and the bounds stay admissible, only looser.
+ * The bounds need non-negative weights; while the network has a negative edge every estimate is 0.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public class LandmarkHeuristic<T> implements HeuristicADT<T> {
+    /**
+     * The network the landmarks belong to.
+     */
+    private final Network<T> network;
+
+    /**
+     * The number of landmarks asked for.
+     */
+    private final int landmarkCount;
+
+    /**
+     * The index of each landmark in the network.
+     */
+    private int[] landmarks;
+
+    /**
+     * The distance from each landmark to each vertex, one row of numVertices entries per landmark.
+     */
+    private double[] distances;
+
+    /**
+     * The number of vertex slots the tables were computed for, removed vertices included.
+     */
+    private int numVertices;
+
+    /**
+     * The number of vertices the network had when the tables were computed.
+     */
+    private int liveVertices;
+
+    /**
+     * The modification count of the network the tables hold for.
+     */
+    private int checkedModCount;
+
+    /**
+     * The weight modification count of the network the tables hold for.
+     */
+    private int checkedWeightModCount;
+
+    /**
+     * Whether the tables must be computed again before the next estimate.
+     */
+    private boolean stale;
+
+    /**
+     * Whether the network had a negative edge when the tables were computed.
+     */
+    private boolean hasNegativeEdges;
+
+    /**
+     * Whether the tables are kept while weights only increase.
+     */
+    private boolean slack;
+
+    /**
+     * Creates a landmark heuristic for the given network and computes its tables.
+     *
+     * @param network the network the heuristic is used on
+     * @param landmarkCount the number of landmarks to pick
+     * @throws IllegalArgumentException if the number of landmarks is not positive
+     */
+    public LandmarkHeuristic(Network<T> network, int landmarkCount) {
+        if (landmarkCount <= 0) {
+            throw new IllegalArgumentException("The Number Of Landmarks Must Be Positive");
+        }
+
+        this.network = network;
+        this.landmarkCount = landmarkCount;
+        this.landmarks = new int[0];
+        this.distances = new double[0];
+        this.slack = true;
+        refresh();
+    }
+
+    /**
+     * Returns a lower bound of the weight of the shortest path between two vertices.
+     *
+     * @param vertex the vertex the path starts at
+     * @param target the vertex the path ends at
+     * @return the estimated weight of the shortest path
+     */
+    @Override
+    public double estimate(T vertex, T target) {
+        return estimate(network.getIndex(vertex), network.getIndex(target));
+    }
+
+    /**
+     * Returns a lower bound of the weight of the shortest path between two vertices given their indices.
+     *
+     * @param index the index of the vertex the path starts at
+     * @param targetIndex the index of the vertex the path ends at
+     * @return the estimated weight of the shortest path, Double.POSITIVE_INFINITY if no path can exist
+     */
+    public double estimate(int index, int targetIndex) {
+        if (stale || network.modCount != checkedModCount || network.weightModCount != checkedWeightModCount) {
+            refresh();
+        }
+
+        if (hasNegativeEdges || index < 0 || index >= numVertices || targetIndex < 0 || targetIndex >= numVertices) {
+            return 0;
+        }
+
+        double bound = 0;
+        for (int l = 0; l < landmarks.length; l++) {
+            double fromVertex = distances[l * numVertices + index];
+            double fromTarget = distances[l * numVertices + targetIndex];
+
+            if (fromVertex == Double.POSITIVE_INFINITY || fromTarget == Double.POSITIVE_INFINITY) {
+                // one of them shares a component with the landmark and the other does not
+                if (fromVertex != fromTarget) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                continue;
+            }
+
+            double difference = Math.abs(fromVertex - fromTarget);
+            if (difference > bound) {
+                bound = difference;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Reports that the weight of an edge of the network was just set, with {@link Network#addEdge}.
+     * Setting the same weight, or in slack mode a larger one, keeps the tables as long as it is the only change
+     * the network saw since they were computed; any other change leaves them to be computed again.
+     *
+     * @param oldWeight the weight the edge had, Double.POSITIVE_INFINITY for a new edge
+     * @param newWeight the weight the edge has now, Double.POSITIVE_INFINITY for a removed edge
+     */
+    public void edgeChanged(double oldWeight, double newWeight) {
+        boolean keeps = newWeight == oldWeight || (slack && newWeight > oldWeight);
+        if (!keeps) {
+            invalidate();
+            return;
+        }
+
+        // the change being reported is the only one since the tables were checked
+        if (network.modCount == checkedModCount && network.weightModCount == checkedWeightModCount + 1) {
+            this.checkedWeightModCount = network.weightModCount;
+        }
+    }
+
+    /**
+     * Sets whether the tables are kept while weights only increase.
+     *
+     * @param slack true to keep the tables while weights only increase, false to invalidate them on any change
+     */
+    public void setSlack(boolean slack) {
+        this.slack = slack;
+    }
+
+    /**
+     * Checks whether the tables are kept while weights only increase.
+     *
+     * @return true if the tables are kept while weights only increase, false otherwise
+     */
+    public boolean isSlack() {
+        return slack;
+    }
+
+    /**
+     * Marks the tables as out of date, so they are computed again before the next estimate.
+     */
+    public void invalidate() {
+        this.stale = true;
+    }
+
+    /**
+     * Picks the landmarks and computes their distance tables for the current weights of the network.
+     */
+    public void refresh() {
+        // let subclasses settle their edge storage, which may count as a change, before taking the counts
+        if (network.numVertices > 0) {
+            network.firstEdge(0);
+        }
+
+        this.numVertices = network.numVertices;
+        this.liveVertices = network.size();
+        this.checkedModCount = network.modCount;
+        this.checkedWeightModCount = network.weightModCount;
+        this.stale = false;
+        this.hasNegativeEdges = network.hasNegativeEdge();
+
+        int count = Math.min(landmarkCount, liveVertices);
+        this.landmarks = new int[count];
+        this.distances = new double[count * numVertices];
+        if (count == 0 || hasNegativeEdges) {
+            return;
+        }
+
+        ShortestPathTree<T> tree = new ShortestPathTree<>();
+        double[] nearest = new double[numVertices];
+
+        int first = 0;
+        while (network.vertices[first] == null) {
+            first++;
+        }
+
+        // start from the vertex farthest from an arbitrary one, which tends to lie on the border of the network
+        network.shortestPathTree(network.vertices[first], tree);
+        int next = farthest(tree.distance, 0);
+
+        for (int l = 0; l < count; l++) {
+            landmarks[l] = next;
+            network.shortestPathTree(network.vertices[next], tree);
+
+            for (int v = 0; v < numVertices; v++) {
+                distances[l * numVertices + v] = tree.distance[v];
+                nearest[v] = l == 0 ? tree.distance[v] : Math.min(nearest[v], tree.distance[v]);
+            }
+            next = farthest(nearest, l + 1);
+        }
+    }
+
+    /**
+     * Returns the vertex with the largest distance that is not a landmark yet.
+     * Unreachable vertices count as the farthest, so every component gets a landmark when possible.
+     * Removed vertices are never picked.
+     *
+     * @param distance the distance of each vertex
+     * @param picked the number of landmarks already picked
+     * @return the index of the farthest vertex
+     */
+    private int farthest(double[] distance, int picked) {
+        int best = 0;
+        double bestDistance = -1;
+
+        for (int v = 0; v < numVertices; v++) {
+            if (distance[v] > bestDistance && network.vertices[v] != null && !isLandmark(v, picked)) {
+                best = v;
+                bestDistance = distance[v];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if a vertex is one of the landmarks picked so far.
+     *
+     * @param index the index of the vertex
+     * @param picked the number of landmarks already picked
+     * @return true if the vertex is a landmark, false otherwise
+     */
+    private boolean isLandmark(int index, int picked) {
+        for (int l = 0; l < picked; l++) {
+            if (landmarks[l] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
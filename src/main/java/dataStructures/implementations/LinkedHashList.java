@@ -0,0 +1,453 @@
+package dataStructures.implementations;
+
+import dataStructures.exceptions.EmptyCollectionException;
+import dataStructures.exceptions.NoSuchElementException;
+import dataStructures.ADTS.UnorderedListADT;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * LinkedHashList is an unordered list of distinct elements with a hash index.
+ *
+ * The elements are kept in a doubly linked chain of slots stored in parallel arrays, and an {@link IndexMap}
+ * gives the slot of each element. Finding, removing or adding after an element therefore takes O(1) expected
+ * time instead of a scan of the list, and the elements are iterated in the order the list holds them.
+ * Elements are compared with {@code equals} and hashed with {@code hashCode}, and adding an element equal to
+ * one already in the list is rejected, so every add grows the list by one.
+ *
+ * @param <T> the type of elements stored in the list
+ */
+public class LinkedHashList<T> implements UnorderedListADT<T>, Iterable<T> {
+    /**
+     * The default initial capacity of the list.
+     */
+    private final static int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The element in each slot, null for a free slot.
+     */
+    private T[] elements;
+
+    /**
+     * The slot after each slot in the list, or the next free slot for a free slot; -1 for none.
+     */
+    private int[] next;
+
+    /**
+     * The slot before each slot in the list, -1 for the first one.
+     */
+    private int[] previous;
+
+    /**
+     * The slot of the first element, -1 if the list is empty.
+     */
+    private int head;
+
+    /**
+     * The slot of the last element, -1 if the list is empty.
+     */
+    private int tail;
+
+    /**
+     * The first free slot, -1 if every slot is used.
+     */
+    private int free;
+
+    /**
+     * The slot of each element in the list.
+     */
+    private IndexMap<T> slots;
+
+    /**
+     * The current number of elements in the list.
+     */
+    private int size;
+
+    /**
+     * The modification count, used to track changes to the list.
+     */
+    private int modCount;
+
+    /**
+     * Default constructor that initializes the list with a default capacity.
+     */
+    public LinkedHashList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the list with a specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the list
+     */
+    public LinkedHashList(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.elements = (T[]) new Object[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.slots = new IndexMap<>(capacity);
+        this.head = -1;
+        this.tail = -1;
+        this.free = -1;
+        this.size = 0;
+        this.modCount = 0;
+        chainFree(0, capacity);
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element the element to be added to the front of the list
+     * @throws IllegalArgumentException if the element is null or already in the list
+     */
+    @Override
+    public void addToFront(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        if (slots.containsKey(element)) {
+            throw new IllegalArgumentException("Element is already in the list");
+        }
+
+        int slot = takeSlot(element);
+        previous[slot] = -1;
+        next[slot] = head;
+        if (head != -1) {
+            previous[head] = slot;
+        } else {
+            tail = slot;
+        }
+        head = slot;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element the element to be added to the rear of the list
+     * @throws IllegalArgumentException if the element is null or already in the list
+     */
+    @Override
+    public void addToRear(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        if (slots.containsKey(element)) {
+            throw new IllegalArgumentException("Element is already in the list");
+        }
+
+        int slot = takeSlot(element);
+        next[slot] = -1;
+        previous[slot] = tail;
+        if (tail != -1) {
+            next[tail] = slot;
+        } else {
+            head = slot;
+        }
+        tail = slot;
+    }
+
+    /**
+     * Adds the specified element after the target element in this list.
+     *
+     * @param element the element to be added
+     * @param target the target element after which the new element will be added
+     * @throws IllegalArgumentException if the element or target is null, or the element is already in the list
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the target element is not found
+     */
+    @Override
+    public void addAfter(T element, T target) throws EmptyCollectionException, NoSuchElementException {
+        if (element == null || target == null) {
+            throw new IllegalArgumentException("Element or target cannot be null");
+        }
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        int targetSlot = slots.get(target);
+        if (targetSlot == -1) {
+            throw new NoSuchElementException();
+        }
+        if (slots.containsKey(element)) {
+            throw new IllegalArgumentException("Element is already in the list");
+        }
+
+        int slot = takeSlot(element);
+        previous[slot] = targetSlot;
+        next[slot] = next[targetSlot];
+        if (next[targetSlot] != -1) {
+            previous[next[targetSlot]] = slot;
+        } else {
+            tail = slot;
+        }
+        next[targetSlot] = slot;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * @return the first element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return unlink(head);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * @return the last element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return unlink(tail);
+    }
+
+    /**
+     * Removes the specified element from the list and returns it.
+     *
+     * @param element the element to be removed
+     * @return the removed element
+     * @throws EmptyCollectionException if the list is empty
+     * @throws NoSuchElementException if the element is not found in the list
+     */
+    @Override
+    public T remove(T element) throws EmptyCollectionException, NoSuchElementException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+
+        int slot = slots.get(element);
+        if (slot == -1) {
+            throw new NoSuchElementException();
+        }
+        return unlink(slot);
+    }
+
+    /**
+     * Returns the first element of the list without removing it.
+     *
+     * @return the first element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return elements[head];
+    }
+
+    /**
+     * Returns the last element of the list without removing it.
+     *
+     * @return the last element of the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return elements[tail];
+    }
+
+    /**
+     * Checks if the list contains the specified element.
+     *
+     * @param target the element to search for
+     * @return true if the list contains the target element, false otherwise
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public boolean contains(T target) throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return slots.containsKey(target);
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the current size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements in the list, from the first to the last.
+     *
+     * @return an iterator over the elements in the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LinkedHashListIterator();
+    }
+
+    /**
+     * Returns a string representation of the list.
+     *
+     * @return a string representation of the list
+     */
+    @Override
+    public String toString() {
+        String result = "";
+        for (int slot = head; slot != -1; slot = next[slot]) {
+            result += elements[slot].toString();
+            result += "---------------\n";
+        }
+        return result;
+    }
+
+    /**
+     * Stores an element in a free slot and indexes it, growing the arrays if no slot is free.
+     * The caller links the slot into the list.
+     *
+     * @param element the element to be stored
+     * @return the slot of the element
+     */
+    private int takeSlot(T element) {
+        if (free == -1) {
+            expandCapacity();
+        }
+
+        int slot = free;
+        free = next[slot];
+        elements[slot] = element;
+        slots.put(element, slot);
+        size++;
+        modCount++;
+        return slot;
+    }
+
+    /**
+     * Unlinks the element in a slot from the list and frees the slot.
+     *
+     * @param slot the slot of the element
+     * @return the element that was in the slot
+     */
+    private T unlink(int slot) {
+        T removed = elements[slot];
+
+        if (previous[slot] != -1) {
+            next[previous[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != -1) {
+            previous[next[slot]] = previous[slot];
+        } else {
+            tail = previous[slot];
+        }
+
+        slots.remove(removed);
+        elements[slot] = null;
+        next[slot] = free;
+        free = slot;
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Doubles the capacity of the list. The slots keep their positions, so the links stay valid.
+     */
+    private void expandCapacity() {
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity * 2;
+
+        T[] newElements = (T[]) new Object[newCapacity];
+        int[] newNext = new int[newCapacity];
+        int[] newPrevious = new int[newCapacity];
+        System.arraycopy(elements, 0, newElements, 0, oldCapacity);
+        System.arraycopy(next, 0, newNext, 0, oldCapacity);
+        System.arraycopy(previous, 0, newPrevious, 0, oldCapacity);
+
+        this.elements = newElements;
+        this.next = newNext;
+        this.previous = newPrevious;
+        chainFree(oldCapacity, newCapacity);
+    }
+
+    /**
+     * Chains a range of unused slots into the free list.
+     *
+     * @param from the first slot of the range
+     * @param to the slot after the last one of the range
+     */
+    private void chainFree(int from, int to) {
+        for (int slot = from; slot < to - 1; slot++) {
+            next[slot] = slot + 1;
+        }
+        next[to - 1] = free;
+        free = from;
+    }
+
+    /**
+     * Iterates over the list from the first element to the last.
+     */
+    private class LinkedHashListIterator implements Iterator<T> {
+        private int current;
+        private int lastReturned;
+        private int expectedModCount;
+
+        public LinkedHashListIterator() {
+            this.current = head;
+            this.lastReturned = -1;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != -1;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = current;
+            current = next[current];
+            return elements[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (lastReturned == -1) {
+                throw new NoSuchElementException();
+            }
+            unlink(lastReturned);
+            lastReturned = -1;
+            expectedModCount++;
+        }
+    }
+}
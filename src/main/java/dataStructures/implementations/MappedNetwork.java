@@ -0,0 +1,420 @@
+package dataStructures.implementations;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Represents a weighted undirected network whose edges are read from a file mapped into memory.
+ *
+ * The file holds the network in compressed sparse row form, like the arrays of a {@link CSRNetwork}: the
+ * offset of the edges of each vertex, the neighbour reached by each edge and its weight as a float. Opening
+ * the file maps it instead of reading it, so a large prebuilt network is ready in the time it takes to index
+ * its vertices, its edges never live on the Java heap and every process that opens the same file shares the
+ * same pages. The file is only ever read.
+ *
+ * The weights can still change for the run: each change is kept in a per-run overlay on the heap that holds
+ * only the changed edges, and a weight is read from the overlay if it was changed and from the file otherwise,
+ * so the heap grows with the number of changes and not with the number of edges. Edges can be removed and added
+ * back, and vertices can be removed, but no vertex or new edge can be added, and the slots of removed vertices
+ * are never reclaimed.
+ *
+ * The vertices themselves are objects and cannot be stored in the file, so they are given when the file is
+ * opened, in the order of the indices they were written with.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public class MappedNetwork<T> extends Network<T> {
+    /**
+     * The value the files start with.
+     */
+    private static final int MAGIC = 0x4353524E;
+
+    /**
+     * The version of the layout of the files.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size in bytes of the header: the magic value, the version, the number of vertices and of edges.
+     */
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * The start of the edges of each vertex, as stored in the file.
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * The index of the neighbour reached by each edge, as stored in the file.
+     */
+    private final IntBuffer targets;
+
+    /**
+     * The weight of each edge, as stored in the file.
+     */
+    private final FloatBuffer fileWeights;
+
+    /**
+     * The weights changed for the run, or null while every weight is still the one in the file.
+     */
+    private WeightOverlay overlay;
+
+    /**
+     * Opens a network written by {@link #write(Network, File)}.
+     *
+     * @param file the file holding the network
+     * @param vertices the vertices, in the order of their indices in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file does not hold a network or holds a different number of
+     * vertices, or if a vertex is null
+     */
+    public MappedNetwork(File file, T[] vertices) throws IOException {
+        super(0);
+
+        MappedByteBuffer buffer;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            // the mapping stays valid after the file is closed
+            buffer = input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length());
+        }
+
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("The File Does Not Hold A Network");
+        }
+        int vertexCount = buffer.getInt(8);
+        int edgeCount = buffer.getInt(12);
+        if (vertexCount != vertices.length) {
+            throw new IllegalArgumentException("The File Holds " + vertexCount + " Vertices");
+        }
+        if (buffer.capacity() != HEADER_BYTES + 4L * (vertexCount + 1) + 8L * edgeCount) {
+            throw new IllegalArgumentException("The File Does Not Hold A Network");
+        }
+
+        this.offsets = slice(buffer, HEADER_BYTES).asIntBuffer();
+        this.targets = slice(buffer, HEADER_BYTES + 4 * (vertexCount + 1)).asIntBuffer();
+        this.fileWeights = slice(buffer, HEADER_BYTES + 4 * (vertexCount + 1) + 4 * edgeCount).asFloatBuffer();
+        this.overlay = null;
+
+        this.vertices = (T[]) new Object[Math.max(vertexCount, 1)];
+        this.numVertices = vertexCount;
+        this.vertexIndex = new IndexMap<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            if (vertices[i] == null) {
+                throw new IllegalArgumentException("The Element Cant Be Null");
+            }
+            this.vertices[i] = vertices[i];
+            indexVertex(i);
+        }
+
+        // compacting would renumber the vertices, and the file cannot be rewritten
+        setAutoCompaction(false);
+        weightsReplaced();
+    }
+
+    /**
+     * Writes a network to a file that can be opened as a {@link MappedNetwork}.
+     * The vertices that were not removed are written in index order, so the vertices to open the file with
+     * are those of {@link Graph#getVertices()}, in that order.
+     *
+     * @param network the network to be written
+     * @param file the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Network<?> network, File file) throws IOException {
+        int[] newIndex = new int[network.numVertices];
+        int vertexCount = 0;
+        int edgeCount = 0;
+        for (int i = 0; i < network.numVertices; i++) {
+            newIndex[i] = network.isRemoved(i) ? -1 : vertexCount++;
+            for (int edge = network.firstEdge(i); edge != -1; edge = network.nextEdge(i, edge)) {
+                edgeCount++;
+            }
+        }
+
+        long length = HEADER_BYTES + 4L * (vertexCount + 1) + 8L * edgeCount;
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(length);
+            MappedByteBuffer buffer = output.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, vertexCount);
+            buffer.putInt(12, edgeCount);
+
+            IntBuffer offsets = slice(buffer, HEADER_BYTES).asIntBuffer();
+            IntBuffer targets = slice(buffer, HEADER_BYTES + 4 * (vertexCount + 1)).asIntBuffer();
+            FloatBuffer weights = slice(buffer, HEADER_BYTES + 4 * (vertexCount + 1) + 4 * edgeCount).asFloatBuffer();
+
+            // the edges of a vertex come in the order of their neighbours, which the renumbering keeps
+            int slot = 0;
+            for (int i = 0; i < network.numVertices; i++) {
+                if (newIndex[i] == -1) {
+                    continue;
+                }
+                offsets.put(newIndex[i], slot);
+                for (int edge = network.firstEdge(i); edge != -1; edge = network.nextEdge(i, edge)) {
+                    targets.put(slot, newIndex[network.edgeTargetAt(i, edge)]);
+                    weights.put(slot, (float) network.edgeWeightAt(i, edge));
+                    slot++;
+                }
+            }
+            offsets.put(vertexCount, slot);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Returns a view of a buffer starting at the given position.
+     *
+     * @param buffer the buffer
+     * @param position the position the view starts at
+     * @return the view
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int position) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        return view.slice();
+    }
+
+    /**
+     * Brings every weight back to the one in the file, dropping the changes made during the run.
+     */
+    public void resetWeights() {
+        if (overlay != null) {
+            this.overlay = null;
+            topologyChanged();
+            weightsReplaced();
+        }
+    }
+
+    /**
+     * Adding vertices is not supported, since the file cannot be rewritten.
+     *
+     * @param vertex the vertex to be added
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("The Network Has A Fixed Topology");
+    }
+
+    /**
+     * Does nothing: compacting would renumber the vertices, and the edges in the file keep their indices.
+     * The slots of removed vertices stay as tombstones.
+     */
+    @Override
+    public void compact() {
+    }
+
+    /**
+     * Adds an edge with weight 0 between two vertices by their indices.
+     *
+     * @param indexVertex1 the index of the first vertex
+     * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
+     * @throws UnsupportedOperationException if the edge is not in the file
+     */
+    @Override
+    public void addEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+        addEdge(indexVertex1, indexVertex2, 0);
+    }
+
+    /**
+     * Sets the weight of an edge for the run, given the indices of its vertices.
+     * Only edges stored in the file can be given a weight.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param weight the weight of the edge
+     * @throws UnsupportedOperationException if the edge is not in the file
+     */
+    @Override
+    public void addEdge(int index1, int index2, double weight) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return;
+        }
+
+        int slot = findSlot(index1, index2);
+        if (slot == -1) {
+            if (weight == Double.POSITIVE_INFINITY) {
+                return;
+            }
+            throw new UnsupportedOperationException("The Network Has A Fixed Topology");
+        }
+
+        boolean wasRemoved = weightAt(slot) == Double.POSITIVE_INFINITY;
+        setWeight(slot, weight);
+        setWeight(findSlot(index2, index1), weight);
+        if (wasRemoved != (weight == Double.POSITIVE_INFINITY)) {
+            topologyChanged();
+        }
+        weightChanged(weight);
+    }
+
+    /**
+     * Removes the edge between two vertices by their indices for the run.
+     *
+     * @param indexVertex1 the index of the first vertex
+     * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
+     */
+    @Override
+    public void removeEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+
+        int slot = findSlot(indexVertex1, indexVertex2);
+        if (slot != -1 && weightAt(slot) != Double.POSITIVE_INFINITY) {
+            topologyChanged();
+            setWeight(slot, Double.POSITIVE_INFINITY);
+            setWeight(findSlot(indexVertex2, indexVertex1), Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Returns the weight of the edge between two vertices given their indices.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return the weight of the edge, or Double.POSITIVE_INFINITY if no edge exists
+     */
+    @Override
+    public double getEdgeWeight(int index1, int index2) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int slot = findSlot(index1, index2);
+        return slot != -1 ? weightAt(slot) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns a cursor to the edge that follows the given cursor on the vertex at the given index.
+     * The cursor is the position of the edge in the file.
+     *
+     * @param index the index of the vertex
+     * @param cursor the cursor of the current edge, or -1 to start at the first edge
+     * @return a cursor to the next edge, or -1 if there are no more edges
+     */
+    @Override
+    protected int nextEdge(int index, int cursor) {
+        int start = offsets.get(index);
+        int end = offsets.get(index + 1);
+        int edge = cursor < start ? start : cursor + 1;
+
+        // skip the edges removed during the run
+        while (edge < end && weightAt(edge) == Double.POSITIVE_INFINITY) {
+            edge++;
+        }
+
+        return edge < end ? edge : -1;
+    }
+
+    /**
+     * Returns the index of the vertex reached by the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the index of the neighbouring vertex
+     */
+    @Override
+    protected int edgeTargetAt(int index, int cursor) {
+        return targets.get(cursor);
+    }
+
+    /**
+     * Returns the weight of the edge at the given cursor.
+     *
+     * @param index the index of the vertex the edge leaves from
+     * @param cursor the cursor of the edge
+     * @return the weight of the edge
+     */
+    @Override
+    protected double edgeWeightAt(int index, int cursor) {
+        return weightAt(cursor);
+    }
+
+    /**
+     * Returns a dense adjacency matrix equivalent to this network.
+     * The matrix is built on each call and takes memory proportional to the square of the number of vertices.
+     *
+     * @return the adjacency matrix
+     */
+    @Override
+    public double[][] getAdjMatrix() {
+        double[][] matrix = new double[numVertices][numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < numVertices; j++) {
+                matrix[i][j] = Double.POSITIVE_INFINITY;
+            }
+            for (int edge = offsets.get(i); edge < offsets.get(i + 1); edge++) {
+                matrix[i][targets.get(edge)] = weightAt(edge);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the current weight of the edge at a position, from the overlay if it was changed for the run.
+     *
+     * @param slot the position of the edge
+     * @return the weight of the edge, or Double.POSITIVE_INFINITY if it was removed
+     */
+    private double weightAt(int slot) {
+        if (overlay != null) {
+            double changed = overlay.get(slot);
+            if (!Double.isNaN(changed)) {
+                return changed;
+            }
+        }
+        return fileWeights.get(slot);
+    }
+
+    /**
+     * Changes the weight of the edge at a position for the run, creating the overlay on the first change.
+     *
+     * @param slot the position of the edge
+     * @param weight the new weight, or Double.POSITIVE_INFINITY to remove the edge
+     */
+    private void setWeight(int slot, double weight) {
+        if (overlay == null) {
+            this.overlay = new WeightOverlay();
+        }
+        overlay.set(slot, weight);
+    }
+
+    /**
+     * Returns the position of the edge between two vertices in the file.
+     * The edges of a vertex are sorted by neighbour, so the search is binary.
+     *
+     * @param index1 the index of the vertex the edge leaves from
+     * @param index2 the index of the neighbouring vertex
+     * @return the position of the edge, or -1 if there is no such edge in the file
+     */
+    private int findSlot(int index1, int index2) {
+        int low = offsets.get(index1);
+        int high = offsets.get(index1 + 1) - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = targets.get(middle);
+            if (target < index2) {
+                low = middle + 1;
+            } else if (target > index2) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
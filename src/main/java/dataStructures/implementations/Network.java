@@ -1,15 +1,30 @@
 package dataStructures.implementations;
 
+import dataStructures.ADTS.HeuristicADT;
+import dataStructures.ADTS.ListADT;
 import dataStructures.ADTS.NetworkADT;
 
-import java.util.Iterator;
-
 /**
  * Represents a weighted undirected network.
  *
  * @param <T> the type of the vertices in the network
  */
 public class Network<T> extends Graph<T> implements NetworkADT<T> {
+    /**
+     * The number of times the weight of an edge was set, edges added included.
+     * Together with the modification count it tells whether the weights changed since a moment.
+     */
+    protected int weightModCount;
+
+    /**
+     * Whether the network has an edge with a negative weight, while {@link #negativeEdgesKnown} holds.
+     */
+    private boolean negativeEdges;
+
+    /**
+     * Whether {@link #negativeEdges} holds for the current weights, or must be found again by a scan.
+     */
+    private boolean negativeEdgesKnown = true;
 
     /**
      * Constructs a new empty network with default capacity.
@@ -39,6 +54,22 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         this.addEdge(getIndex(vertex1), getIndex(vertex2), weight);
     }
 
+    /**
+     * Adds an edge with weight 0 between two vertices by their indices.
+     * The weight goes through {@link #addEdge(int, int, double)}, so the change is counted like any other.
+     *
+     * @param indexVertex1 the index of the first vertex
+     * @param indexVertex2 the index of the second vertex
+     * @throws IllegalArgumentException if the indices are invalid
+     */
+    @Override
+    public void addEdge(int indexVertex1, int indexVertex2) {
+        if (!indexIsValid(indexVertex1) || !indexIsValid(indexVertex2)) {
+            throw new IllegalArgumentException("Invalid vertex indices");
+        }
+        addEdge(indexVertex1, indexVertex2, 0);
+    }
+
     /**
      * Adds an edge between two vertices in the network given their indices and weight.
      *
@@ -46,13 +77,81 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @param index2 the index of the second vertex
      * @param weight the weight of the edge
      */
-    private void addEdge(int index1, int index2, double weight) {
+    public void addEdge(int index1, int index2, double weight) {
         if(indexIsValid(index1) && indexIsValid(index2)) {
+            if ((adjMatrix[index1][index2] == Double.POSITIVE_INFINITY) != (weight == Double.POSITIVE_INFINITY)) {
+                topologyChanged();
+            }
             adjMatrix[index1][index2] = weight;
             adjMatrix[index2][index1] = weight;
+            weightChanged(weight);
         }
     }
 
+    /**
+     * Called whenever the weight of an edge is set, after the weight is written.
+     *
+     * @param weight the new weight of the edge
+     */
+    protected void weightChanged(double weight) {
+        this.weightModCount++;
+        if (weight < 0) {
+            this.negativeEdges = true;
+            this.negativeEdgesKnown = true;
+        } else if (negativeEdges) {
+            // the weight may have replaced the last negative one
+            this.negativeEdgesKnown = false;
+        }
+    }
+
+    /**
+     * Called when the weights of many edges are replaced at once, such as when they are loaded.
+     */
+    protected void weightsReplaced() {
+        this.weightModCount++;
+        this.negativeEdgesKnown = false;
+    }
+
+    /**
+     * Called whenever a vertex or an edge is added or removed.
+     * A removed edge may have been the last negative one.
+     */
+    @Override
+    protected void topologyChanged() {
+        super.topologyChanged();
+        if (negativeEdges) {
+            this.negativeEdgesKnown = false;
+        }
+    }
+
+    /**
+     * Checks if the network has an edge with a negative weight. The answer is kept until a change of the
+     * weights may alter it, so only the first call after such a change scans the edges.
+     *
+     * @return true if some edge has a negative weight, false otherwise
+     */
+    boolean hasNegativeEdge() {
+        if (!negativeEdgesKnown) {
+            // let subclasses settle their edge storage, which may count as a change, before the scan
+            if (numVertices > 0) {
+                firstEdge(0);
+            }
+
+            boolean found = false;
+            for (int i = 0; i < numVertices && !found; i++) {
+                for (int edge = firstEdge(i); edge != -1; edge = nextEdge(i, edge)) {
+                    if (edgeWeightAt(i, edge) < 0) {
+                        found = true;
+                        break;
+                    }
+                }
+            }
+            this.negativeEdges = found;
+            this.negativeEdgesKnown = true;
+        }
+        return negativeEdges;
+    }
+
     /**
      * Returns the weight of the edge between two vertices.
      *
@@ -65,35 +164,73 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
     }
 
     /**
-     * Returns the weight of the edge between two vertices given their indices.
+     * Finds the shortest path between two vertices and returns the path as a list of vertices.
      *
-     * @param index1 the index of the first vertex
-     * @param index2 the index of the second vertex
-     * @return the weight of the edge, or Double.POSITIVE_INFINITY if no edge exists
+     * @param startVertex the starting vertex
+     * @param endVertex the destination vertex
+     * @return an ArrayUnorderedList of vertices representing the shortest path, empty if no path exists
      */
-    private double getEdgeWeight(int index1, int index2) {
-        if(indexIsValid(index1) && indexIsValid(index2)) {
-            return adjMatrix[index1][index2];
+    public ArrayUnorderedList<T> shortestPath(T startVertex, T endVertex) {
+        return shortestPath(getIndex(startVertex), getIndex(endVertex));
+    }
+
+    /**
+     * Finds the shortest path between two vertices given their indices.
+     *
+     * @param startIndex the index of the starting vertex
+     * @param endIndex the index of the destination vertex
+     * @return an ArrayUnorderedList of vertices representing the shortest path, empty if no path exists
+     */
+    public ArrayUnorderedList<T> shortestPath(int startIndex, int endIndex) {
+        if (!indexIsValid(startIndex) || !indexIsValid(endIndex)) {
+            return new ArrayUnorderedList<>();
+        }
+
+        SearchScratch forward = acquireScratch();
+        SearchScratch backward = acquireScratch();
+        try {
+            if (bidirectionalDijkstra(startIndex, endIndex, forward, backward) == Double.POSITIVE_INFINITY) {
+                return new ArrayUnorderedList<>();
+            }
+
+            ArrayUnorderedList<T> path = buildPath(forward.meet, forward.predecessor);
+            for (int at = backward.meet; at != -1; at = backward.predecessor[at]) {
+                path.addToRear(vertices[at]);
+            }
+            return path;
+        } finally {
+            releaseScratch(backward);
+            releaseScratch(forward);
         }
-        return Double.POSITIVE_INFINITY;
     }
 
     /**
-     * Finds the shortest path between two vertices and returns the path as a list of vertices.
+     * Finds the shortest path between two vertices with an A* search guided by the given heuristic.
+     * The search settles the vertices in order of their distance from the start plus their estimated
+     * distance to the end, so a good estimate settles far fewer vertices than {@link #shortestPath(Object, Object)}.
      *
      * @param startVertex the starting vertex
      * @param endVertex the destination vertex
-     * @return an ArrayUnorderedList of vertices representing the shortest path
+     * @param heuristic the estimate of the distance from each vertex to the destination
+     * @return an ArrayUnorderedList of vertices representing the shortest path, empty if no path exists
      */
-    public ArrayUnorderedList<T> shortestPath(T startVertex, T endVertex) {
-        Iterator<Integer> it = dijkstra(getIndex(startVertex), getIndex(endVertex));
-        ArrayUnorderedList<T> path = new ArrayUnorderedList<>();
+    public ArrayUnorderedList<T> shortestPath(T startVertex, T endVertex, HeuristicADT<T> heuristic) {
+        int startIndex = getIndex(startVertex);
+        int endIndex = getIndex(endVertex);
 
-        while (it.hasNext()) {
-            path.addToRear(vertices[it.next()]);
+        if (!indexIsValid(startIndex) || !indexIsValid(endIndex)) {
+            return new ArrayUnorderedList<>();
         }
 
-        return path;
+        SearchScratch scratch = acquireScratch();
+        try {
+            if (aStar(startIndex, endIndex, heuristic, scratch)) {
+                return buildPath(endIndex, scratch.predecessor);
+            }
+            return new ArrayUnorderedList<>();
+        } finally {
+            releaseScratch(scratch);
+        }
     }
 
     /**
@@ -116,111 +253,315 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @return The total weight of the shortest path between the vertices, or Double.POSITIVE_INFINITY if no path exists.
      */
     public double shortestPathWeight(int startIndex, int targetIndex) {
-        double result = 0;
         if(!indexIsValid(startIndex) || !indexIsValid(targetIndex)){
             return Double.POSITIVE_INFINITY;
         }
 
-        int index1, index2;
-        Iterator<Integer> it = dijkstra(startIndex, targetIndex);
+        SearchScratch forward = acquireScratch();
+        SearchScratch backward = acquireScratch();
+        try {
+            return bidirectionalDijkstra(startIndex, targetIndex, forward, backward);
+        } finally {
+            releaseScratch(backward);
+            releaseScratch(forward);
+        }
+    }
 
-        if(it.hasNext()){
-            index1 = it.next();
-        }else {
-            return Double.POSITIVE_INFINITY;
+    /**
+     * Computes the shortest path tree from a source vertex into a caller-owned result object.
+     * A single search answers the distance and the path from the source to every vertex,
+     * so asking for several targets from the same source costs one search instead of one per target.
+     *
+     * @param source the source vertex
+     * @param tree the tree to be filled, reused between calls
+     * @return the filled tree, empty if the source is not in the network
+     */
+    public ShortestPathTree<T> shortestPathTree(T source, ShortestPathTree<T> tree) {
+        int sourceIndex = getIndex(source);
+        tree.reset(this, sourceIndex);
+
+        if (!indexIsValid(sourceIndex)) {
+            return tree;
         }
 
-        while(it.hasNext()){
-            index2 = it.next();
-            result += adjMatrix[index1][index2];
-            index1 = index2;
+        SearchScratch scratch = acquireScratch();
+        try {
+            dijkstra(sourceIndex, -1, scratch);
+            for (int i = 0; i < numVertices; i++) {
+                if (scratch.isReached(i)) {
+                    tree.distance[i] = scratch.distance[i];
+                    tree.predecessor[i] = scratch.predecessor[i];
+                }
+            }
+        } finally {
+            releaseScratch(scratch);
         }
+        return tree;
+    }
+
+    /**
+     * Computes the shortest path tree from a source vertex with a delta-stepping search whose phases run in
+     * parallel on large networks; see {@link DeltaStepping}. The distances are the same as those of
+     * {@link #shortestPathTree}, and so are the predecessors: among the neighbours that lie before a vertex
+     * on a shortest path, both pick the one with the smallest index. A network with a negative edge, or one
+     * where a vertex can be reached at the same distance as a neighbour, so that the choice would depend on
+     * the order Dijkstra's algorithm settles them in, is searched with {@link #shortestPathTree} instead.
+     * The network must not change during the search.
+     *
+     * @param source the source vertex
+     * @param tree the tree to be filled, reused between calls
+     * @return the filled tree, empty if the source is not in the network
+     */
+    public ShortestPathTree<T> parallelShortestPathTree(T source, ShortestPathTree<T> tree) {
+        int sourceIndex = getIndex(source);
+        tree.reset(this, sourceIndex);
 
-        return result;
+        if (!indexIsValid(sourceIndex)) {
+            return tree;
+        }
+
+        // let subclasses settle their edge storage before the search reads it concurrently
+        firstEdge(sourceIndex);
+        if (!DeltaStepping.shortestPathTree(this, sourceIndex, tree.distance, tree.predecessor)) {
+            return shortestPathTree(source, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Finds the goal vertex closest to a source vertex and returns the path to it.
+     *
+     * @param source the starting vertex
+     * @param goals the candidate destination vertices
+     * @return the vertices of the shortest path from the source to the nearest goal, empty if no goal can be reached
+     */
+    public ArrayUnorderedList<T> nearestPath(T source, ListADT<T> goals) {
+        ArrayUnorderedList<T> sources = new ArrayUnorderedList<>(1);
+        sources.addToRear(source);
+        return nearestPath(sources, goals);
     }
 
     /**
-     * Finds the vertex with the smallest distance that has not yet been processed.
+     * Finds the closest pair of a source vertex and a goal vertex and returns the path between them.
+     * All sources start the search at distance 0 and the search stops at the first goal it settles,
+     * so the nearest member of a set is found with a single search instead of one search per member.
      *
-     * @param distance Array containing the current shortest distances from the source to each vertex.
-     * @param spSet Boolean array indicating whether each vertex has been processed.
-     * @return The index of the vertex with the smallest distance.
+     * @param sources the candidate starting vertices
+     * @param goals the candidate destination vertices
+     * @return the vertices of the shortest path from the nearest source to the nearest goal, empty if no goal can be reached
      */
-    int minimumDistance(double[] distance, boolean[] spSet) {
-        // Initialize the minimum value
-        double m = Double.POSITIVE_INFINITY; // The smallest distance starts as infinite
-        int m_index = -1; // Index of the vertex with the smallest distance
+    public ArrayUnorderedList<T> nearestPath(ListADT<T> sources, ListADT<T> goals) {
+        SearchScratch scratch = acquireScratch();
+        try {
+            scratch.begin(numVertices);
+
+            for (T goal : goals) {
+                int goalIndex = getIndex(goal);
+                if (indexIsValid(goalIndex)) {
+                    scratch.flag(goalIndex);
+                }
+            }
 
-        // Loop through all vertices
-        for (int i = 0; i < numVertices; i++) {
-            // If the vertex is not yet processed and its distance is smaller or equal to the current minimum
-            if (!spSet[i] && distance[i] <= m) {
-                m = distance[i]; // Update the minimum value
-                m_index = i;     // Update the index of the vertex with the smallest distance
+            for (T source : sources) {
+                int sourceIndex = getIndex(source);
+                if (indexIsValid(sourceIndex)) {
+                    scratch.reach(sourceIndex, 0, -1);
+                    scratch.heap.insertOrDecrease(sourceIndex, 0);
+                }
             }
-        }
 
-        return m_index; // Return the index of the vertex with the smallest distance
+            int nearest = dijkstra(scratch, -1, true);
+            return nearest != -1 ? buildPath(nearest, scratch.predecessor) : new ArrayUnorderedList<>();
+        } finally {
+            releaseScratch(scratch);
+        }
     }
 
     /**
-     * Implements Dijkstra's shortest path algorithm for a graph represented as an adjacency matrix.
+     * Finds the shortest path between two vertices with two Dijkstra searches, one grown from each end.
      *
-     * This method was inspired by an implementation of Dijkstra and can be found at the following link:
-     * "https://www.javatpoint.com/dijkstra-algorithm-java". We have modified the algorithm to return an Integer Iterator
-     * of the vertex positions and adapted the variables to fit our network implementation.
+     * The searches take turns, each time advancing the one with fewer vertices in its heap. Every edge scanned
+     * towards a vertex the other search has reached closes a candidate path, and the best candidate is kept.
+     * The search stops when the smallest keys of both heaps add up to at least the best candidate, since
+     * no path through an unsettled vertex can be shorter. Both searches together settle roughly the vertices
+     * within half the distance of either end, instead of every vertex closer than the target.
+     *
+     * The best path goes from `s` to the meeting vertex of the forward scratch, over one edge, then from the
+     * meeting vertex of the backward scratch to `t`. The stopping rule needs non-negative weights, so a network
+     * with a negative edge anywhere is searched with a plain Dijkstra search in the forward scratch instead, which
+     * answers what {@link #shortestPathTree} does; the forward meeting vertex is then `t` and the backward one
+     * is -1.
      *
      * @param s The source vertex from which the shortest path is calculated.
      * @param t The target vertex to which the shortest path is calculated.
-     * @return An iterator over the vertices in the shortest path from `s` to `t`.
+     * @param forward The scratch of the search grown from `s`.
+     * @param backward The scratch of the search grown from `t`.
+     * @return The weight of the shortest path, or Double.POSITIVE_INFINITY if `t` cannot be reached.
      */
-    private Iterator<Integer> dijkstra(int s, int t) {
-        double[] distance = new double[numVertices]; // Array to store the shortest distances from source `s` to all vertices
+    private double bidirectionalDijkstra(int s, int t, SearchScratch forward, SearchScratch backward) {
+        forward.begin(numVertices);
+        backward.begin(numVertices);
+        forward.reach(s, 0, -1);
+        backward.reach(t, 0, -1);
+
+        if (s == t) {
+            forward.meet = s;
+            return 0;
+        }
 
-        // spSet[j] will be true if vertex `j` is included in the shortest
-        // path tree or if the shortest distance from source `s` to `j` is finalized
-        boolean[] spSet = new boolean[numVertices]; // Array to mark processed vertices
+        if (hasNegativeEdge()) {
+            dijkstra(s, t, forward);
+            forward.meet = forward.isReached(t) ? t : -1;
+            return forward.distanceTo(t);
+        }
 
-        // Array to store predecessors of each vertex in the shortest path
-        int[] predecessor = new int[numVertices];
+        forward.heap.insertOrDecrease(s, 0);
+        backward.heap.insertOrDecrease(t, 0);
 
-        // Initialize distances, processed vertices set, and predecessors
-        for (int i = 0; i < numVertices; i++) {
-            distance[i] = Double.POSITIVE_INFINITY; // All distances start as infinite
-            spSet[i] = false;                       // No vertex has been processed yet
-            predecessor[i] = -1;                    // No predecessor at the start
+        double best = Double.POSITIVE_INFINITY;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()
+                && forward.heap.minKey() + backward.heap.minKey() < best) {
+            boolean isForward = forward.heap.size() <= backward.heap.size();
+            SearchScratch search = isForward ? forward : backward;
+            SearchScratch other = isForward ? backward : forward;
+
+            int ux = search.heap.removeMin();
+            search.settle(ux);
+
+            for (int edge = firstEdge(ux); edge != -1; edge = nextEdge(ux, edge)) {
+                int vx = edgeTargetAt(ux, edge);
+                double weight = edgeWeightAt(ux, edge);
+
+                if (!search.isSettled(vx) && search.distance[ux] + weight < search.distanceTo(vx)) {
+                    search.reach(vx, search.distance[ux] + weight, ux);
+                    search.heap.insertOrDecrease(vx, search.distance[vx]);
+                }
+
+                // the edge joins the two searches
+                if (search.distance[ux] + weight + other.distanceTo(vx) < best) {
+                    best = search.distance[ux] + weight + other.distanceTo(vx);
+                    forward.meet = isForward ? ux : vx;
+                    backward.meet = isForward ? vx : ux;
+                }
+            }
         }
 
-        distance[s] = 0; // Distance to the source vertex is 0
+        return best;
+    }
 
-        // Main loop to find the shortest path for all vertices
-        for (int cnt = 0; cnt < numVertices - 1; cnt++) {
-            // Find the vertex with the smallest distance that has not been processed yet
-            int ux = minimumDistance(distance, spSet);
-            spSet[ux] = true; // Mark this vertex as processed
+    /**
+     * Implements Dijkstra's shortest path algorithm using an indexed min-heap.
+     *
+     * This method was inspired by an implementation of Dijkstra and can be found at the following link:
+     * "https://www.javatpoint.com/dijkstra-algorithm-java". We have modified the algorithm to record the distances
+     * and predecessors in a reusable scratch and adapted the variables to fit our network implementation.
+     * The vertex with the smallest distance is taken from an {@link IndexedMinHeap} instead of a scan over all
+     * vertices, and the search stops as soon as the target is settled, so a query costs O((V + E) log V) at most.
+     * Of the vertices settled before a vertex that reach it at its distance, the one with the smallest index
+     * becomes its predecessor.
+     *
+     * @param s The source vertex from which the shortest path is calculated.
+     * @param t The target vertex at which the search stops, or -1 to settle every reachable vertex.
+     * @param scratch The scratch the search is recorded in, started anew by this method.
+     */
+    private void dijkstra(int s, int t, SearchScratch scratch) {
+        scratch.begin(numVertices);
+        scratch.reach(s, 0, -1); // Distance to the source vertex is 0
+        scratch.heap.insertOrDecrease(s, 0);
+
+        dijkstra(scratch, t, false);
+    }
+
+    /**
+     * Runs Dijkstra's main loop from the vertices already placed in the heap of the scratch.
+     * Seeding the heap with several vertices at distance 0 searches from all of them at once.
+     *
+     * @param scratch The scratch holding the reached source vertices in its heap.
+     * @param t The target vertex at which the search stops, or -1 for none.
+     * @param stopAtFlagged Whether the search also stops at the vertices flagged in the scratch.
+     * @return The first target or flagged vertex settled, or -1 if none was reached.
+     */
+    private int dijkstra(SearchScratch scratch, int t, boolean stopAtFlagged) {
+        IndexedMinHeap heap = scratch.heap;
+
+        while (!heap.isEmpty()) {
+            // Take the vertex with the smallest distance that has not been processed yet
+            int ux = heap.removeMin();
+            scratch.settle(ux); // Mark this vertex as processed
+
+            // The distance to the target is final once it leaves the heap
+            if (ux == t || (stopAtFlagged && scratch.isFlagged(ux))) {
+                return ux;
+            }
 
             // Update distances and predecessors for neighbors of the selected vertex
-            for (int vx = 0; vx < numVertices; vx++) {
+            for (int edge = firstEdge(ux); edge != -1; edge = nextEdge(ux, edge)) {
+                int vx = edgeTargetAt(ux, edge);
+                double weight = edgeWeightAt(ux, edge);
+                if (scratch.isSettled(vx)) {
+                    continue;
+                }
+                double through = scratch.distance[ux] + weight;
                 // Check if the vertex `vx` can be updated:
-                // - Not yet processed
-                // - There is an edge between `ux` and `vx`
-                // - The distance to `ux` is not infinite
                 // - The new distance through `ux` is smaller than the current distance to `vx`
-                if (!spSet[vx] && adjMatrix[ux][vx] != Double.POSITIVE_INFINITY && distance[ux] != Double.POSITIVE_INFINITY && distance[ux] + adjMatrix[ux][vx] < distance[vx]) {
-                    distance[vx] = distance[ux] + adjMatrix[ux][vx]; // Update the distance
-                    predecessor[vx] = ux; // Update the predecessor of `vx`
+                // - Or it is the same, and `ux` has a smaller index than the current predecessor, so ties
+                //   between predecessors settled before `vx` do not depend on the order of the heap
+                if (through < scratch.distanceTo(vx)) {
+                    scratch.reach(vx, through, ux); // Update the distance and predecessor
+                    heap.insertOrDecrease(vx, scratch.distance[vx]);
+                } else if (through == scratch.distance[vx] && ux < scratch.predecessor[vx]) {
+                    scratch.predecessor[vx] = ux;
                 }
             }
         }
 
-        // Reconstruct the shortest path from the destination `t` back to the source `s`
-        ArrayUnorderedList<Integer> path = new ArrayUnorderedList<>(); // List to store the path
-        for (int at = t; at != -1; at = predecessor[at]) {
-            path.addToFront(at); // Add each vertex to the front of the path
-        }
-
-        return path.iterator(); // Return the path as an iterator
+        return -1;
     }
 
+    /**
+     * Implements the A* search between two vertices.
+     *
+     * It is Dijkstra's algorithm with the heap ordered by the distance from `s` plus the heuristic estimate
+     * of the distance to `t`. The estimate of each vertex is asked for once, the first time the vertex is reached.
+     * A settled vertex is never opened again, which is exact for consistent heuristics.
+     *
+     * @param s The source vertex from which the shortest path is calculated.
+     * @param t The target vertex at which the search stops.
+     * @param heuristic The estimate of the distance from each vertex to `t`.
+     * @param scratch The scratch the search is recorded in, started anew by this method.
+     * @return true if `t` was reached, false otherwise.
+     */
+    private boolean aStar(int s, int t, HeuristicADT<T> heuristic, SearchScratch scratch) {
+        scratch.begin(numVertices);
+        IndexedMinHeap heap = scratch.heap;
+        double[] estimate = scratch.estimate;
+
+        scratch.reach(s, 0, -1);
+        heap.insertOrDecrease(s, 0);
+
+        while (!heap.isEmpty()) {
+            int ux = heap.removeMin();
+            scratch.settle(ux);
 
+            if (ux == t) {
+                return true;
+            }
+
+            for (int edge = firstEdge(ux); edge != -1; edge = nextEdge(ux, edge)) {
+                int vx = edgeTargetAt(ux, edge);
+                double weight = edgeWeightAt(ux, edge);
+
+                if (!scratch.isSettled(vx) && scratch.distance[ux] + weight < scratch.distanceTo(vx)) {
+                    if (!scratch.isReached(vx)) {
+                        estimate[vx] = heuristic.estimate(vertices[vx], vertices[t]);
+                    }
+                    scratch.reach(vx, scratch.distance[ux] + weight, ux);
+                    heap.insertOrDecrease(vx, scratch.distance[vx] + estimate[vx]);
+                }
+            }
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,218 @@
+package dataStructures.implementations;
+
+/**
+ * Collects the vertices and edges of a network and builds it in one pass.
+ *
+ * Building a {@link Network} vertex by vertex grows its adjacency matrix again and again, and every edge
+ * added by value looks both vertices up. The builder only appends to flat arrays, and {@link #build()} turns
+ * them into a {@link CSRNetwork} with a single linear pass, with every array sized to the vertices and edges
+ * it holds. The built network has a fixed topology: the weights of its edges can still change and edges can
+ * be removed and added back, but no vertex or new edge can be added.
+ *
+ * @param <T> the type of the vertices in the network
+ */
+public class NetworkBuilder<T> {
+    /**
+     * The default initial capacity for vertices and edges.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The vertices added so far, in order.
+     */
+    private T[] vertices;
+
+    /**
+     * The number of vertices added so far.
+     */
+    private int numVertices;
+
+    /**
+     * The index of each vertex, so edges can be added by value without scanning.
+     */
+    private IndexMap<T> vertexIndex;
+
+    /**
+     * The first vertex of each edge added so far.
+     */
+    private int[] sources;
+
+    /**
+     * The second vertex of each edge added so far.
+     */
+    private int[] targets;
+
+    /**
+     * The weight of each edge added so far.
+     */
+    private double[] weights;
+
+    /**
+     * The number of edges added so far.
+     */
+    private int numEdges;
+
+    /**
+     * An empty array with the precision the built network stores its weights with.
+     */
+    private WeightArray weightStorage;
+
+    /**
+     * Creates an empty builder with the default capacity.
+     */
+    public NetworkBuilder() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty builder sized for the given number of vertices and edges.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param expectedEdges the number of edges expected
+     */
+    public NetworkBuilder(int expectedVertices, int expectedEdges) {
+        this.vertices = (T[]) new Object[Math.max(expectedVertices, 1)];
+        this.numVertices = 0;
+        this.vertexIndex = new IndexMap<>(expectedVertices);
+        this.sources = new int[Math.max(expectedEdges, 1)];
+        this.targets = new int[Math.max(expectedEdges, 1)];
+        this.weights = new double[Math.max(expectedEdges, 1)];
+        this.numEdges = 0;
+        this.weightStorage = WeightArray.doubles(0);
+    }
+
+    /**
+     * Adds a vertex to the network being built.
+     * A vertex added more than once is found by value at the index it was first added with.
+     *
+     * @param vertex the vertex to be added
+     * @return the index of the vertex in the built network
+     * @throws IllegalArgumentException if the vertex is null
+     */
+    public int addVertex(T vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("The Element Cant Be Null");
+        }
+
+        if (numVertices == vertices.length) {
+            T[] newVertices = (T[]) new Object[vertices.length * 2];
+            System.arraycopy(vertices, 0, newVertices, 0, numVertices);
+            this.vertices = newVertices;
+        }
+
+        vertices[numVertices] = vertex;
+        if (!vertexIndex.containsKey(vertex)) {
+            vertexIndex.put(vertex, numVertices);
+        }
+        return numVertices++;
+    }
+
+    /**
+     * Returns the index a vertex will have in the built network.
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex, or -1 if it was not added
+     */
+    public int getIndex(T vertex) {
+        return vertexIndex.get(vertex);
+    }
+
+    /**
+     * Adds an edge between two vertices with a given weight.
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @param weight the weight of the edge
+     */
+    public void addEdge(T vertex1, T vertex2, double weight) {
+        addEdge(getIndex(vertex1), getIndex(vertex2), weight);
+    }
+
+    /**
+     * Adds an edge between two vertices given their indices and weight.
+     * If the same edge is added more than once the last weight is kept, and a weight of
+     * Double.POSITIVE_INFINITY leaves the vertices unconnected. Invalid indices are ignored,
+     * as in {@link Network#addEdge(int, int, double)}.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @param weight the weight of the edge
+     */
+    public void addEdge(int index1, int index2, double weight) {
+        if (index1 < 0 || index1 >= numVertices || index2 < 0 || index2 >= numVertices) {
+            return;
+        }
+
+        if (numEdges == sources.length) {
+            int newCapacity = sources.length * 2;
+
+            int[] newSources = new int[newCapacity];
+            int[] newTargets = new int[newCapacity];
+            double[] newWeights = new double[newCapacity];
+            System.arraycopy(sources, 0, newSources, 0, numEdges);
+            System.arraycopy(targets, 0, newTargets, 0, numEdges);
+            System.arraycopy(weights, 0, newWeights, 0, numEdges);
+
+            this.sources = newSources;
+            this.targets = newTargets;
+            this.weights = newWeights;
+        }
+
+        sources[numEdges] = index1;
+        targets[numEdges] = index2;
+        weights[numEdges] = weight;
+        numEdges++;
+    }
+
+    /**
+     * Makes the networks built from now on store their weights as doubles, the default.
+     */
+    public void storeWeightsAsDoubles() {
+        this.weightStorage = WeightArray.doubles(0);
+    }
+
+    /**
+     * Makes the networks built from now on store their weights as floats, which halves the memory the
+     * weights take. Weights are rounded to the nearest float, about 7 significant digits, which can change
+     * which of two paths of nearly equal weight is the shorter one, so it is meant for networks large enough
+     * for the memory to matter.
+     */
+    public void storeWeightsAsFloats() {
+        this.weightStorage = WeightArray.floats(0);
+    }
+
+    /**
+     * Makes the networks built from now on store their weights as fixed-point shorts, a quarter of the
+     * memory of doubles. Weights are rounded to the nearest multiple of the resolution, and every weight
+     * must be within Short.MAX_VALUE multiples of the resolution from 0.
+     *
+     * @param resolution the step between two weights that can be stored
+     * @throws IllegalArgumentException if the resolution is not positive
+     */
+    public void storeWeightsAsFixedPoint(double resolution) {
+        this.weightStorage = WeightArray.fixedPoint(0, resolution);
+    }
+
+    /**
+     * Returns the number of vertices added so far.
+     *
+     * @return the number of vertices
+     */
+    public int size() {
+        return numVertices;
+    }
+
+    /**
+     * Builds the network from the vertices and edges added so far, in time linear in their number.
+     * The builder can keep being used afterwards; later additions do not affect networks already built.
+     *
+     * @return a network with a fixed topology holding the vertices and edges added
+     * @throws IllegalArgumentException if a weight cannot be stored with the chosen precision
+     */
+    public CSRNetwork<T> build() {
+        T[] exactVertices = (T[]) new Object[Math.max(numVertices, 1)];
+        System.arraycopy(vertices, 0, exactVertices, 0, numVertices);
+
+        return new CSRNetwork<>(exactVertices, numVertices, sources, targets, weights, numEdges, weightStorage);
+    }
+}
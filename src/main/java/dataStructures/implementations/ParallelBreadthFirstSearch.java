@@ -0,0 +1,304 @@
+package dataStructures.implementations;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * A level-synchronous breadth first search that computes the number of edges from one vertex to every other.
+ *
+ * The search advances one level at a time. Each level is split into chunks that run in parallel on the
+ * common fork/join pool, and a vertex is claimed for the next level by setting its bit in an atomic bitset,
+ * so every vertex enters the frontier once however many threads reach it. Each level picks a direction:
+ * - top-down, while the frontier is small: the edges of the frontier are walked to find new vertices;
+ * - bottom-up, once the edges of the frontier outnumber a fraction of the edges of the unvisited vertices:
+ *   every unvisited vertex looks for a neighbour in the frontier and stops at the first one, which skips most
+ *   of the edges of the large middle levels of a search;
+ * - top-down again once the frontier holds less than a fraction of the vertices.
+ * The graph is undirected, so the neighbours of a vertex are the vertices that can reach it.
+ *
+ * The search reads the neighbour lists of the graph, as built by {@link Graph#degree(int)}, and small graphs
+ * are searched on the calling thread with the same steps.
+ */
+class ParallelBreadthFirstSearch {
+    /**
+     * The number of vertices from which the levels are split across threads.
+     */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * The number of frontier vertices or of vertices each chunk of a level handles.
+     */
+    private static final int GRAIN = 1024;
+
+    /**
+     * The search turns bottom-up once the edges of the frontier exceed the edges of the unvisited vertices
+     * divided by this value.
+     */
+    private static final int TO_BOTTOM_UP = 14;
+
+    /**
+     * The search turns top-down again once the frontier is smaller than the number of vertices divided by
+     * this value.
+     */
+    private static final int TO_TOP_DOWN = 24;
+
+    /**
+     * The start of the neighbours of each vertex in the neighbour list.
+     */
+    private final int[] neighbourStart;
+
+    /**
+     * The neighbours of every vertex, vertex after vertex.
+     */
+    private final int[] neighbourList;
+
+    /**
+     * The number of vertex slots.
+     */
+    private final int size;
+
+    /**
+     * Whether the chunks of a level run in parallel.
+     */
+    private final boolean parallel;
+
+    /**
+     * The number of edges from the source to each vertex, -1 for a vertex not reached yet.
+     */
+    private final int[] hops;
+
+    /**
+     * The vertices reached so far, one bit per vertex.
+     */
+    private final AtomicLongArray visited;
+
+    /**
+     * The vertices each chunk of the current level found for the next level.
+     */
+    private int[][] found;
+
+    /**
+     * The number of vertices each chunk of the current level found.
+     */
+    private int[] foundCount;
+
+    /**
+     * Prepares a search over the given neighbour lists.
+     *
+     * @param neighbourStart the start of the neighbours of each vertex, with one more entry than vertices
+     * @param neighbourList the neighbours of every vertex, vertex after vertex
+     * @param size the number of vertex slots
+     */
+    private ParallelBreadthFirstSearch(int[] neighbourStart, int[] neighbourList, int size) {
+        this.neighbourStart = neighbourStart;
+        this.neighbourList = neighbourList;
+        this.size = size;
+        this.parallel = size >= PARALLEL_THRESHOLD;
+        this.hops = new int[size];
+        this.visited = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    /**
+     * Computes the number of edges from a vertex to every other vertex.
+     *
+     * @param neighbourStart the start of the neighbours of each vertex, with one more entry than vertices
+     * @param neighbourList the neighbours of every vertex, vertex after vertex
+     * @param size the number of vertex slots
+     * @param source the index of the vertex the search starts at
+     * @return the number of edges from the source to each vertex, -1 for a vertex it cannot reach
+     */
+    static int[] hopDistances(int[] neighbourStart, int[] neighbourList, int size, int source) {
+        ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(neighbourStart, neighbourList, size);
+        search.run(source);
+        return search.hops;
+    }
+
+    /**
+     * Runs the search level after level until the frontier is empty.
+     *
+     * @param source the index of the vertex the search starts at
+     */
+    private void run(int source) {
+        for (int i = 0; i < size; i++) {
+            hops[i] = -1;
+        }
+        hops[source] = 0;
+        claim(source);
+
+        int[] frontier = {source};
+        int frontierCount = 1;
+        long frontierEdges = degree(source);
+        long unvisitedEdges = neighbourList.length - frontierEdges;
+        boolean bottomUp = false;
+
+        for (int level = 0; frontierCount > 0; level++) {
+            if (!bottomUp && frontierEdges > unvisitedEdges / TO_BOTTOM_UP) {
+                bottomUp = true;
+            } else if (bottomUp && frontierCount < size / TO_TOP_DOWN) {
+                bottomUp = false;
+            }
+
+            int chunks = bottomUp ? chunks(size) : chunks(frontierCount);
+            this.found = new int[chunks][];
+            this.foundCount = new int[chunks];
+
+            final int current = level;
+            final int[] currentFrontier = frontier;
+            final int currentCount = frontierCount;
+            IntStream steps = IntStream.range(0, chunks);
+            if (parallel) {
+                steps = steps.parallel();
+            }
+            if (bottomUp) {
+                steps.forEach(chunk -> bottomUpStep(chunk, current));
+            } else {
+                steps.forEach(chunk -> topDownStep(chunk, currentFrontier, currentCount, current));
+            }
+
+            // gather the next frontier from the chunks
+            frontierCount = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                frontierCount += foundCount[chunk];
+            }
+            frontier = new int[frontierCount];
+            frontierEdges = 0;
+            int position = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                for (int k = 0; k < foundCount[chunk]; k++) {
+                    int vertex = found[chunk][k];
+                    frontier[position++] = vertex;
+                    frontierEdges += degree(vertex);
+                }
+            }
+            unvisitedEdges -= frontierEdges;
+        }
+    }
+
+    /**
+     * Walks the edges of one chunk of the frontier and claims the neighbours not reached yet.
+     *
+     * @param chunk the chunk
+     * @param frontier the vertices of the current level
+     * @param frontierCount the number of vertices of the current level
+     * @param level the number of edges from the source to the current level
+     */
+    private void topDownStep(int chunk, int[] frontier, int frontierCount, int level) {
+        int from = chunk * GRAIN;
+        int to = Math.min(from + GRAIN, frontierCount);
+
+        int[] next = new int[16];
+        int count = 0;
+        for (int k = from; k < to; k++) {
+            int vertex = frontier[k];
+            for (int e = neighbourStart[vertex]; e < neighbourStart[vertex + 1]; e++) {
+                int neighbour = neighbourList[e];
+                if (!isClaimed(neighbour) && claim(neighbour)) {
+                    hops[neighbour] = level + 1;
+                    if (count == next.length) {
+                        next = grow(next);
+                    }
+                    next[count++] = neighbour;
+                }
+            }
+        }
+
+        found[chunk] = next;
+        foundCount[chunk] = count;
+    }
+
+    /**
+     * Looks for a neighbour in the frontier for every unvisited vertex of one chunk of the vertices.
+     * Each vertex is only written by the chunk it belongs to.
+     *
+     * @param chunk the chunk
+     * @param level the number of edges from the source to the current level
+     */
+    private void bottomUpStep(int chunk, int level) {
+        int from = chunk * GRAIN;
+        int to = Math.min(from + GRAIN, size);
+
+        int[] next = new int[16];
+        int count = 0;
+        for (int vertex = from; vertex < to; vertex++) {
+            if (isClaimed(vertex)) {
+                continue;
+            }
+            for (int e = neighbourStart[vertex]; e < neighbourStart[vertex + 1]; e++) {
+                if (hops[neighbourList[e]] == level) {
+                    claim(vertex);
+                    hops[vertex] = level + 1;
+                    if (count == next.length) {
+                        next = grow(next);
+                    }
+                    next[count++] = vertex;
+                    break;
+                }
+            }
+        }
+
+        found[chunk] = next;
+        foundCount[chunk] = count;
+    }
+
+    /**
+     * Checks if a vertex was already claimed by some level.
+     *
+     * @param vertex the index of the vertex
+     * @return true if the vertex was claimed, false otherwise
+     */
+    private boolean isClaimed(int vertex) {
+        return (visited.get(vertex >>> 6) & (1L << vertex)) != 0;
+    }
+
+    /**
+     * Sets the bit of a vertex, unless another thread set it first.
+     *
+     * @param vertex the index of the vertex
+     * @return true if this call set the bit, false if it was already set
+     */
+    private boolean claim(int vertex) {
+        int word = vertex >>> 6;
+        long bit = 1L << vertex;
+        while (true) {
+            long current = visited.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of neighbours of a vertex.
+     *
+     * @param vertex the index of the vertex
+     * @return the number of neighbours
+     */
+    private int degree(int vertex) {
+        return neighbourStart[vertex + 1] - neighbourStart[vertex];
+    }
+
+    /**
+     * Returns the number of chunks needed for a number of items.
+     *
+     * @param items the number of items
+     * @return the number of chunks
+     */
+    private static int chunks(int items) {
+        return (items + GRAIN - 1) / GRAIN;
+    }
+
+    /**
+     * Doubles the capacity of an array.
+     *
+     * @param array the array
+     * @return a copy of the array with twice its capacity
+     */
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,196 @@
+package dataStructures.implementations;
+
+/**
+ * The working arrays of one graph search, kept by the graph and reused from one search to the next.
+ *
+ * Instead of clearing the arrays before each search, every search gets a new epoch and a vertex only counts
+ * as reached, settled or flagged if its stamp holds the current epoch. Starting a search therefore costs O(1)
+ * whatever the size of the graph, and the arrays are only reallocated when the graph grows.
+ */
+class SearchScratch {
+    /**
+     * The distance of each reached vertex. Only meaningful for vertices reached in the current epoch.
+     */
+    double[] distance;
+
+    /**
+     * The predecessor of each reached vertex, -1 for a source. Only meaningful for vertices reached in the
+     * current epoch, so a chain of predecessors started at a reached vertex only visits reached vertices.
+     */
+    int[] predecessor;
+
+    /**
+     * A second value per vertex for searches that need one, such as the A* estimates.
+     */
+    double[] estimate;
+
+    /**
+     * The heap of the search, emptied at the start of each search.
+     */
+    IndexedMinHeap heap;
+
+    /**
+     * The queue of the search, emptied at the start of each search.
+     */
+    IntArrayQueue queue;
+
+    /**
+     * The vertex where the search ended, -1 if it ended without one.
+     */
+    int meet;
+
+    /**
+     * The epoch in which each vertex was reached.
+     */
+    private int[] reached;
+
+    /**
+     * The epoch in which each vertex was settled.
+     */
+    private int[] settled;
+
+    /**
+     * The epoch in which each vertex was flagged.
+     */
+    private int[] flagged;
+
+    /**
+     * The epoch of the current search.
+     */
+    private int epoch;
+
+    /**
+     * Creates the arrays for graphs with up to the given number of vertices.
+     *
+     * @param capacity the number of vertices
+     */
+    SearchScratch(int capacity) {
+        allocate(capacity);
+        this.queue = new IntArrayQueue();
+        this.epoch = 0;
+    }
+
+    /**
+     * Starts a new search on a graph with the given number of vertices.
+     * Every vertex becomes unreached, unsettled and unflagged.
+     *
+     * @param size the number of vertices of the graph
+     */
+    void begin(int size) {
+        if (reached.length < size) {
+            allocate(size);
+            this.epoch = 0;
+        }
+
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            // the stamps wrapped around, so old stamps could look current
+            for (int i = 0; i < reached.length; i++) {
+                reached[i] = 0;
+                settled[i] = 0;
+                flagged[i] = 0;
+            }
+            epoch = 1;
+        }
+
+        heap.clear();
+        queue.clear();
+        meet = -1;
+    }
+
+    /**
+     * Checks if a vertex was reached in the current search.
+     *
+     * @param index the index of the vertex
+     * @return true if the vertex was reached, false otherwise
+     */
+    boolean isReached(int index) {
+        return reached[index] == epoch;
+    }
+
+    /**
+     * Returns the distance of a vertex in the current search.
+     *
+     * @param index the index of the vertex
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex was not reached
+     */
+    double distanceTo(int index) {
+        return reached[index] == epoch ? distance[index] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the predecessor of a vertex in the current search.
+     *
+     * @param index the index of the vertex
+     * @return the predecessor, or -1 if the vertex was not reached or is a source
+     */
+    int predecessorOf(int index) {
+        return reached[index] == epoch ? predecessor[index] : -1;
+    }
+
+    /**
+     * Reaches a vertex, or reaches it again, with the given distance and predecessor.
+     *
+     * @param index the index of the vertex
+     * @param newDistance the distance of the vertex
+     * @param newPredecessor the predecessor of the vertex, -1 for a source
+     */
+    void reach(int index, double newDistance, int newPredecessor) {
+        reached[index] = epoch;
+        distance[index] = newDistance;
+        predecessor[index] = newPredecessor;
+    }
+
+    /**
+     * Checks if a vertex was settled in the current search.
+     *
+     * @param index the index of the vertex
+     * @return true if the vertex was settled, false otherwise
+     */
+    boolean isSettled(int index) {
+        return settled[index] == epoch;
+    }
+
+    /**
+     * Settles a vertex in the current search.
+     *
+     * @param index the index of the vertex
+     */
+    void settle(int index) {
+        settled[index] = epoch;
+    }
+
+    /**
+     * Checks if a vertex was flagged in the current search.
+     *
+     * @param index the index of the vertex
+     * @return true if the vertex was flagged, false otherwise
+     */
+    boolean isFlagged(int index) {
+        return flagged[index] == epoch;
+    }
+
+    /**
+     * Flags a vertex in the current search, for example as a goal.
+     *
+     * @param index the index of the vertex
+     */
+    void flag(int index) {
+        flagged[index] = epoch;
+    }
+
+    /**
+     * Allocates every per-vertex array with the given size.
+     *
+     * @param capacity the number of vertices
+     */
+    private void allocate(int capacity) {
+        this.distance = new double[capacity];
+        this.predecessor = new int[capacity];
+        this.estimate = new double[capacity];
+        this.reached = new int[capacity];
+        this.settled = new int[capacity];
+        this.flagged = new int[capacity];
+        this.heap = new IndexedMinHeap(capacity);
+    }
+}
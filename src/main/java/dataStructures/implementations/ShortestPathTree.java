@@ -0,0 +1,137 @@
+package dataStructures.implementations;
+
+/**
+ * Holds the shortest path tree computed from a single source vertex of a graph.
+ *
+ * The tree stores the distance and the predecessor of every vertex, so the distance to any vertex
+ * is read in O(1) and the path to any vertex is only built when it is asked for. The object belongs
+ * to the caller and can be filled again and again by {@link Graph#breadthFirstTree} or
+ * {@link Network#shortestPathTree}; its arrays are only reallocated when the graph grows.
+ *
+ * @param <T> the type of the vertices in the graph
+ */
+public class ShortestPathTree<T> {
+    /**
+     * The graph the tree was computed on.
+     */
+    private Graph<T> graph;
+
+    /**
+     * The index of the source vertex, or -1 if the tree is empty.
+     */
+    int source;
+
+    /**
+     * The number of vertices covered by the tree.
+     */
+    private int size;
+
+    /**
+     * The distance from the source to each vertex.
+     */
+    double[] distance;
+
+    /**
+     * The predecessor of each vertex on its shortest path from the source, or -1.
+     */
+    int[] predecessor;
+
+    /**
+     * Creates an empty shortest path tree.
+     */
+    public ShortestPathTree() {
+        this.graph = null;
+        this.source = -1;
+        this.size = 0;
+        this.distance = new double[0];
+        this.predecessor = new int[0];
+    }
+
+    /**
+     * Prepares the tree to be filled from a source vertex of a graph.
+     * Every distance is set to infinity and every predecessor to -1.
+     *
+     * @param graph the graph the tree is computed on
+     * @param source the index of the source vertex
+     */
+    void reset(Graph<T> graph, int source) {
+        this.graph = graph;
+        this.source = source;
+        this.size = graph.numVertices;
+
+        if (distance.length < size) {
+            this.distance = new double[size];
+            this.predecessor = new int[size];
+        }
+
+        for (int i = 0; i < size; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+    }
+
+    /**
+     * Returns the source vertex of the tree.
+     *
+     * @return the source vertex, or null if the tree has not been filled
+     */
+    public T getSource() {
+        return source != -1 ? graph.vertices[source] : null;
+    }
+
+    /**
+     * Returns the distance from the source to the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex cannot be reached
+     */
+    public double distanceTo(int index) {
+        if (index < 0 || index >= size) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance[index];
+    }
+
+    /**
+     * Returns the distance from the source to the given vertex.
+     *
+     * @param vertex the vertex
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex cannot be reached
+     */
+    public double distanceTo(T vertex) {
+        return graph != null ? distanceTo(graph.getIndex(vertex)) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks if the given vertex can be reached from the source.
+     *
+     * @param vertex the vertex
+     * @return true if there is a path from the source to the vertex, false otherwise
+     */
+    public boolean hasPathTo(T vertex) {
+        return distanceTo(vertex) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the shortest path from the source to the vertex at the given index.
+     *
+     * @param index the index of the target vertex
+     * @return the vertices of the path from the source to the target, empty if the target cannot be reached
+     */
+    public ArrayUnorderedList<T> pathTo(int index) {
+        if (distanceTo(index) == Double.POSITIVE_INFINITY) {
+            return new ArrayUnorderedList<>();
+        }
+        return graph.buildPath(index, predecessor);
+    }
+
+    /**
+     * Returns the shortest path from the source to the given vertex.
+     *
+     * @param vertex the target vertex
+     * @return the vertices of the path from the source to the target, empty if the target cannot be reached
+     */
+    public ArrayUnorderedList<T> pathTo(T vertex) {
+        return graph != null ? pathTo(graph.getIndex(vertex)) : new ArrayUnorderedList<>();
+    }
+}
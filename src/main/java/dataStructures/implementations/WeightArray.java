@@ -0,0 +1,252 @@
+package dataStructures.implementations;
+
+import java.util.Arrays;
+
+/**
+ * The edge weights of a {@link CSRNetwork}, stored with a chosen precision.
+ *
+ * Weights are always read and written as doubles, with Double.POSITIVE_INFINITY for a slot without an edge,
+ * but they can be kept as doubles (8 bytes each), as floats (4 bytes each) or as fixed-point shorts (2 bytes
+ * each). The smaller forms fit more edges in the cache during a search at the cost of precision: a float keeps
+ * about 7 significant digits, and a fixed-point weight is rounded to a multiple of its resolution and must lie
+ * within Short.MAX_VALUE steps of 0. The fixed-point form marks a slot without an edge with Short.MIN_VALUE.
+ */
+abstract class WeightArray {
+    /**
+     * Creates an array of double weights.
+     *
+     * @param length the number of slots
+     * @return the array, every slot without an edge
+     */
+    static WeightArray doubles(int length) {
+        return new Doubles(length);
+    }
+
+    /**
+     * Creates an array of float weights.
+     *
+     * @param length the number of slots
+     * @return the array, every slot without an edge
+     */
+    static WeightArray floats(int length) {
+        return new Floats(length);
+    }
+
+    /**
+     * Creates an array of fixed-point weights.
+     *
+     * @param length the number of slots
+     * @param resolution the step between two weights that can be stored
+     * @return the array, every slot without an edge
+     * @throws IllegalArgumentException if the resolution is not positive
+     */
+    static WeightArray fixedPoint(int length, double resolution) {
+        if (!(resolution > 0)) {
+            throw new IllegalArgumentException("The Resolution Must Be Positive");
+        }
+        return new FixedPoint(length, resolution);
+    }
+
+    /**
+     * Returns the weight in a slot.
+     *
+     * @param slot the slot
+     * @return the weight, or Double.POSITIVE_INFINITY if the slot has no edge
+     */
+    abstract double get(int slot);
+
+    /**
+     * Stores a weight in a slot, rounded to the precision of the array.
+     *
+     * @param slot the slot
+     * @param weight the weight, or Double.POSITIVE_INFINITY to leave the slot without an edge
+     * @throws IllegalArgumentException if the weight cannot be stored with the precision of the array
+     */
+    abstract void set(int slot, double weight);
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots
+     */
+    abstract int length();
+
+    /**
+     * Creates an array with the same precision, with every slot without an edge.
+     *
+     * @param length the number of slots
+     * @return the new array
+     */
+    abstract WeightArray newArray(int length);
+
+    /**
+     * Creates an array with the same precision holding the first slots of this one.
+     *
+     * @param length the number of slots to keep
+     * @return the new array
+     */
+    abstract WeightArray copyOf(int length);
+
+    /**
+     * Weights stored as doubles, exactly as given.
+     */
+    private static class Doubles extends WeightArray {
+        /**
+         * The weight of each slot.
+         */
+        private final double[] values;
+
+        /**
+         * Creates the array with every slot without an edge.
+         *
+         * @param length the number of slots
+         */
+        Doubles(int length) {
+            this.values = new double[length];
+            Arrays.fill(values, Double.POSITIVE_INFINITY);
+        }
+
+        @Override
+        double get(int slot) {
+            return values[slot];
+        }
+
+        @Override
+        void set(int slot, double weight) {
+            values[slot] = weight;
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        WeightArray newArray(int length) {
+            return new Doubles(length);
+        }
+
+        @Override
+        WeightArray copyOf(int length) {
+            Doubles copy = new Doubles(length);
+            System.arraycopy(values, 0, copy.values, 0, Math.min(length, values.length));
+            return copy;
+        }
+    }
+
+    /**
+     * Weights stored as floats, rounded to the nearest float.
+     */
+    private static class Floats extends WeightArray {
+        /**
+         * The weight of each slot, Float.POSITIVE_INFINITY for a slot without an edge.
+         */
+        private final float[] values;
+
+        /**
+         * Creates the array with every slot without an edge.
+         *
+         * @param length the number of slots
+         */
+        Floats(int length) {
+            this.values = new float[length];
+            Arrays.fill(values, Float.POSITIVE_INFINITY);
+        }
+
+        @Override
+        double get(int slot) {
+            return values[slot];
+        }
+
+        @Override
+        void set(int slot, double weight) {
+            values[slot] = (float) weight;
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        WeightArray newArray(int length) {
+            return new Floats(length);
+        }
+
+        @Override
+        WeightArray copyOf(int length) {
+            Floats copy = new Floats(length);
+            System.arraycopy(values, 0, copy.values, 0, Math.min(length, values.length));
+            return copy;
+        }
+    }
+
+    /**
+     * Weights stored as a number of steps of a fixed resolution in a short.
+     */
+    private static class FixedPoint extends WeightArray {
+        /**
+         * The value that marks a slot without an edge.
+         */
+        private static final short NO_EDGE = Short.MIN_VALUE;
+
+        /**
+         * The weight of each slot as a number of steps, NO_EDGE for a slot without an edge.
+         */
+        private final short[] values;
+
+        /**
+         * The weight of one step.
+         */
+        private final double resolution;
+
+        /**
+         * Creates the array with every slot without an edge.
+         *
+         * @param length the number of slots
+         * @param resolution the weight of one step
+         */
+        FixedPoint(int length, double resolution) {
+            this.values = new short[length];
+            this.resolution = resolution;
+            Arrays.fill(values, NO_EDGE);
+        }
+
+        @Override
+        double get(int slot) {
+            short steps = values[slot];
+            return steps == NO_EDGE ? Double.POSITIVE_INFINITY : steps * resolution;
+        }
+
+        @Override
+        void set(int slot, double weight) {
+            if (weight == Double.POSITIVE_INFINITY) {
+                values[slot] = NO_EDGE;
+                return;
+            }
+
+            long steps = Math.round(weight / resolution);
+            if (steps <= NO_EDGE || steps > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("The Weight " + weight + " Is Out Of The Fixed Point Range");
+            }
+            values[slot] = (short) steps;
+        }
+
+        @Override
+        int length() {
+            return values.length;
+        }
+
+        @Override
+        WeightArray newArray(int length) {
+            return new FixedPoint(length, resolution);
+        }
+
+        @Override
+        WeightArray copyOf(int length) {
+            FixedPoint copy = new FixedPoint(length, resolution);
+            System.arraycopy(values, 0, copy.values, 0, Math.min(length, values.length));
+            return copy;
+        }
+    }
+}
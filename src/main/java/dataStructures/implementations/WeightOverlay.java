@@ -0,0 +1,135 @@
+package dataStructures.implementations;
+
+/**
+ * A table of the edge weights changed for a run, keyed by the position of the edge in its storage.
+ *
+ * Only the edges whose weight was set are kept, in an open addressing table of int keys and float weights,
+ * so the table grows with the number of changed edges and not with the number of edges. Entries are never
+ * removed one by one; the whole table is dropped when the weights go back to the stored ones.
+ */
+class WeightOverlay {
+    /**
+     * The default initial number of slots of the table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The position of the edge held in each slot of the table, -1 for an empty slot.
+     */
+    private int[] positions;
+
+    /**
+     * The weight of the edge held in the same slot.
+     */
+    private float[] weights;
+
+    /**
+     * The number of edges in the table.
+     */
+    private int size;
+
+    /**
+     * Creates an empty table.
+     */
+    WeightOverlay() {
+        this.positions = emptyPositions(DEFAULT_CAPACITY);
+        this.weights = new float[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the weight set for an edge.
+     *
+     * @param position the position of the edge
+     * @return the weight, or Double.NaN if no weight was set for the edge
+     */
+    double get(int position) {
+        int mask = positions.length - 1;
+        for (int slot = slotOf(position); positions[slot] != -1; slot = (slot + 1) & mask) {
+            if (positions[slot] == position) {
+                return weights[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Sets the weight of an edge, replacing the one set before.
+     *
+     * @param position the position of the edge
+     * @param weight the weight, Double.POSITIVE_INFINITY for a removed edge
+     */
+    void set(int position, double weight) {
+        if ((size + 1) * 2 > positions.length) {
+            expandCapacity();
+        }
+
+        int mask = positions.length - 1;
+        int slot = slotOf(position);
+        while (positions[slot] != -1) {
+            if (positions[slot] == position) {
+                weights[slot] = (float) weight;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        positions[slot] = position;
+        weights[slot] = (float) weight;
+        size++;
+    }
+
+    /**
+     * Returns the number of edges whose weight was set.
+     *
+     * @return the number of edges in the table
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the home slot of an edge.
+     *
+     * @param position the position of the edge
+     * @return the slot where the probe for the edge starts
+     */
+    private int slotOf(int position) {
+        // positions of neighbouring edges are consecutive, so mix them before masking
+        int hash = position * 0x9E3779B9;
+        hash ^= (hash >>> 16);
+        return hash & (positions.length - 1);
+    }
+
+    /**
+     * Doubles the number of slots and inserts every edge again.
+     */
+    private void expandCapacity() {
+        int[] oldPositions = positions;
+        float[] oldWeights = weights;
+
+        this.positions = emptyPositions(oldPositions.length * 2);
+        this.weights = new float[oldPositions.length * 2];
+        this.size = 0;
+
+        for (int slot = 0; slot < oldPositions.length; slot++) {
+            if (oldPositions[slot] != -1) {
+                set(oldPositions[slot], oldWeights[slot]);
+            }
+        }
+    }
+
+    /**
+     * Creates the slots of an empty table.
+     *
+     * @param capacity the number of slots, a power of two
+     * @return the slots, all empty
+     */
+    private static int[] emptyPositions(int capacity) {
+        int[] empty = new int[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            empty[slot] = -1;
+        }
+        return empty;
+    }
+}
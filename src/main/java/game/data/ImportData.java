@@ -1,9 +1,11 @@
 package game.data;
 
 
-import dataStructures.exceptions.EmptyCollectionException;
 import dataStructures.implementations.ArrayOrderedList;
 import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.IndexMap;
+import dataStructures.implementations.LinkedHashList;
+import dataStructures.implementations.NetworkBuilder;
 
 import game.character.Enemy;
 
@@ -36,6 +38,11 @@ public class ImportData {
     private static String gameSettingsPath = ".\\src\\settings\\GameSettings.json";
     private static String simulationResultsPath = ".\\src\\exportedSimulations\\ManualSimulations.json";
 
+    /**
+     * The position of each room of the mission being imported in its list of rooms, by name.
+     */
+    private IndexMap<String> roomsByName = new IndexMap<>();
+
     /**
      * Imports the current mission data from the predefined path.
      */
@@ -68,12 +75,18 @@ public class ImportData {
                 room.setEntranceAndExit();
             }
 
-            Map map = new Map();
+            JSONArray connectionsJson = (JSONArray) missionJSON.get("ligacoes");
+            NetworkBuilder<Room> builder = new NetworkBuilder<>(divisoes.size(), connectionsJson.size());
 
             for(Room room : divisoes) {
-                map.insertRoom(room);
+                builder.addVertex(room);
             }
-            importConnectionsFromJson(map, divisoes, (JSONArray) missionJSON.get("ligacoes"));
+            importConnectionsFromJson(builder, divisoes, connectionsJson);
+
+            Map map = new Map(builder.build());
+            // the rooms and their connections stay the same for the whole mission; maps too large for the
+            // table's memory budget are skipped and searched per query
+            map.getMap().buildHopTable();
 
             //create a new player named "To Cruz" and is position is set to a default position
             Player player = new Player("To Cruz");
@@ -144,9 +157,16 @@ public class ImportData {
      */
     private ArrayUnorderedList<Room> jsonToRooms(JSONArray roomsJson){
         ArrayUnorderedList<Room> rooms = new ArrayUnorderedList<>(roomsJson.size());
+        roomsByName = new IndexMap<>(roomsJson.size());
 
         for(int i = 0; i < roomsJson.size(); i++) {
-            rooms.addToRear(new Room((String) roomsJson.get(i)));
+            String name = (String) roomsJson.get(i);
+            rooms.addToRear(new Room(name));
+
+            // the first room with a name is the one found by it
+            if (name != null && !roomsByName.containsKey(name)) {
+                roomsByName.put(name, i);
+            }
         }
         return rooms;
     }
@@ -168,38 +188,36 @@ public class ImportData {
     }
 
     /**
-     * Imports connections between rooms from a JSON array and adds them to the map.
+     * Imports connections between rooms from a JSON array and adds them to the map being built.
+     * Every connection has weight 1, like the ones inserted with {@link Map#insertConnection(Room, Room)}.
      *
-     * @param map the game map
+     * @param builder the builder of the game map, holding the rooms in the same order as the list of rooms
      * @param rooms the list of rooms
      * @param connectionsJson the JSON array of connections between rooms
      */
-    private void importConnectionsFromJson(Map map, ArrayUnorderedList<Room> rooms, JSONArray connectionsJson) {
+    private void importConnectionsFromJson(NetworkBuilder<Room> builder, ArrayUnorderedList<Room> rooms, JSONArray connectionsJson) {
         for(int i = 0; i < connectionsJson.size(); i++) {
             JSONArray connection = (JSONArray) connectionsJson.get(i);
 
-            Room room1 = getRoom(rooms, (String) connection.get(0));
-            Room room2 = getRoom(rooms, (String) connection.get(1));
+            // unknown rooms get -1, which the builder ignores
+            int room1 = roomsByName.get((String) connection.get(0));
+            int room2 = roomsByName.get((String) connection.get(1));
 
-            map.insertConnection(room1, room2);
+            builder.addEdge(room1, room2, 1);
         }
 
     }
 
     /**
-     * Retrieves a Room object by its name from the list of rooms.
+     * Retrieves a Room object by its name from the list of rooms, looking the name up in the name index.
      *
-     * @param rooms the list of rooms
+     * @param rooms the list of rooms the name index was built from
      * @param name the name of the room
      * @return the Room object with the specified name, or null if not found
      */
     private Room getRoom(ArrayUnorderedList<Room> rooms, String name) {
-        for(Room room : rooms) {
-            if(room.getName().equals(name)) {
-                return room;
-            }
-        }
-        return null;
+        int index = roomsByName.get(name);
+        return index != -1 ? rooms.getByIndex(index) : null;
     }
 
     /**
@@ -289,15 +307,14 @@ public class ImportData {
             String jsonText = Files.readString(Path.of(simulationResultsPath));
             JSONArray simulationsJSON = (JSONArray) parser.parse(jsonText);
 
+            // the hashed list answers contains in O(1), so each code is checked without scanning the codes
+            LinkedHashList<String> seenCodes = new LinkedHashList<>();
             for(int i = 0; i < simulationsJSON.size(); i++) {
                 JSONObject object = (JSONObject) simulationsJSON.get(i);
                 String code = (String) object.get("cod-missao");
 
-                try{
-                    if(!missionCodes.contains(code)){
-                        missionCodes.addToRear(code);
-                    }
-                }catch (EmptyCollectionException ex){
+                if(seenCodes.isEmpty() || !seenCodes.contains(code)){
+                    seenCodes.addToRear(code);
                     missionCodes.addToRear(code);
                 }
             }
@@ -318,6 +335,7 @@ public class ImportData {
     public static ArrayOrderedList<SimulationResults> importSimulationResultsByCode(String selectedCode){
         ArrayOrderedList<SimulationResults> results = new ArrayOrderedList<>();
 
+        ArrayUnorderedList<SimulationResults> matching = new ArrayUnorderedList<>();
         JSONParser parser = new JSONParser();
 
         try {
@@ -329,7 +347,7 @@ public class ImportData {
                 String code = (String) object.get("cod-missao");
 
                 if(code.equals(selectedCode)){
-                    results.add(jsonToSimulationResults(object));
+                    matching.addToRear(jsonToSimulationResults(object));
                 }
             }
         } catch (Exception e) {
@@ -338,6 +356,8 @@ public class ImportData {
             System.out.println("*** ERROR: " + e.getMessage() + " ***");
         }
 
+        // the results read before an error are kept
+        results.addAll(matching);
         return results;
     }
 
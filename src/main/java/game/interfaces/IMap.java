@@ -12,6 +12,8 @@ public interface IMap {
      * Inserts a new room into the map.
      *
      * @param room The room to be added to the map.
+     * @throws UnsupportedOperationException if the map has a fixed topology, such as one built from a
+     *                                       {@link dataStructures.implementations.NetworkBuilder}
      */
     public void insertRoom(Room room);
 
@@ -20,6 +22,9 @@ public interface IMap {
      *
      * @param room1 The first room in the connection.
      * @param room2 The second room in the connection.
+     * @throws UnsupportedOperationException if the map has a fixed topology, such as one built from a
+     *                                       {@link dataStructures.implementations.NetworkBuilder}, and the
+     *                                       rooms are not connected yet
      */
     public void insertConnection(Room room1, Room room2);
 
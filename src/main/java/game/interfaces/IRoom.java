@@ -1,6 +1,6 @@
 package game.interfaces;
 
-import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.LinkedHashList;
 import game.character.Enemy;
 import game.character.Entity;
 import game.character.Player;
@@ -30,7 +30,7 @@ public interface IRoom {
      *
      * @return A list of enemies in the room.
      */
-     public ArrayUnorderedList<Enemy> getEnemies();
+     public LinkedHashList<Enemy> getEnemies();
 
     /**
      * Removes a specific enemy from the room.
@@ -51,7 +51,7 @@ public interface IRoom {
      *
      * @return A list of items in the room.
      */
-    public ArrayUnorderedList<Item> getItems();
+    public LinkedHashList<Item> getItems();
 
     /**
      * Removes a specific item from the room.
@@ -1,7 +1,7 @@
 package game.map;
 
-import dataStructures.implementations.Graph;
 import dataStructures.implementations.Network;
+import dataStructures.implementations.NetworkBuilder;
 import game.interfaces.IMap;
 
 /**
@@ -14,12 +14,30 @@ public class Map implements IMap {
     /**
      * The network representation of the map.
      */
-    protected Network<Room> map = new Network<>();
+    protected Network<Room> map;
+
+    /**
+     * Creates an empty map backed by an adjacency matrix.
+     */
+    public Map() {
+        this.map = new Network<>();
+    }
+
+    /**
+     * Creates a map backed by an existing network of rooms, such as one made by a {@link NetworkBuilder}.
+     * A network made by a builder has a fixed topology, so no room or new connection can be inserted into it.
+     *
+     * @param map the network of rooms and their connections
+     */
+    public Map(Network<Room> map) {
+        this.map = map;
+    }
 
     /**
      * Inserts a room into the map as a vertex.
      *
      * @param room The room to be added as a vertex to the map.
+     * @throws UnsupportedOperationException if the map was built from a {@link NetworkBuilder}
      */
     @Override
     public void insertRoom(Room room) {
@@ -31,6 +49,8 @@ public class Map implements IMap {
      *
      * @param room1 The first room to connect.
      * @param room2 The second room to connect.
+     * @throws UnsupportedOperationException if the map was built from a {@link NetworkBuilder} and the rooms
+     *                                       are not connected yet
      */
     @Override
     public void insertConnection(Room room1, Room room2) {
@@ -1,6 +1,6 @@
 package game.map;
 
-import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.LinkedHashList;
 import game.character.Enemy;
 import game.character.Player;
 import game.items.Item;
@@ -20,12 +20,12 @@ public class Room implements IRoom {
     /**
      * The list of enemies currently present in the room.
      */
-    private ArrayUnorderedList<Enemy> enemies;
+    private LinkedHashList<Enemy> enemies;
 
     /**
      * The list of items currently present in the room.
      */
-    private ArrayUnorderedList<Item> items;
+    private LinkedHashList<Item> items;
 
     /**
      * The player currently in the room, if any.
@@ -46,8 +46,8 @@ public class Room implements IRoom {
      */
     public Room(String name) {
         this.name = name;
-        this.enemies = new ArrayUnorderedList<>();
-        this.items = new ArrayUnorderedList<>();
+        this.enemies = new LinkedHashList<>();
+        this.items = new LinkedHashList<>();
         this.player = null;
         this.isEntranceAndExit = false;
     }
@@ -76,7 +76,7 @@ public class Room implements IRoom {
      * @return A list of enemies in the room.
      */
     @Override
-    public ArrayUnorderedList<Enemy> getEnemies() {
+    public LinkedHashList<Enemy> getEnemies() {
         return this.enemies;
     }
 
@@ -104,7 +104,7 @@ public class Room implements IRoom {
      * @return A list of items in the room.
      */
     @Override
-    public ArrayUnorderedList<Item> getItems() {
+    public LinkedHashList<Item> getItems() {
         return items;
     }
 
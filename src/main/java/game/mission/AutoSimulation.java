@@ -1,6 +1,7 @@
 package game.mission;
 
 import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.LinkedHashList;
 import dataStructures.implementations.Network;
 import game.character.Enemy;
 import game.character.Entity;
@@ -20,6 +21,36 @@ import java.util.Random;
 public class AutoSimulation extends Simulation {
     private static Network<Room> currentNetwork;
 
+    /**
+     * The weight last calculated for each room of the current network, by room index.
+     */
+    private static double[] roomWeights;
+
+    /**
+     * The number of rooms in the network when the room weights were calculated.
+     */
+    private static int weightedRooms;
+
+    /**
+     * Whether the player had low health when the room weights were calculated.
+     */
+    private static boolean weightsForLowHealth;
+
+    /**
+     * Whether there were enemies alive when the room weights were calculated.
+     */
+    private static boolean weightsWithEnemies;
+
+    /**
+     * The turn in which each room was last visited while collecting the rooms to re-weight.
+     */
+    private static int[] visitedInTurn;
+
+    /**
+     * The number of incremental updates done so far, used to stamp the visited rooms.
+     */
+    private static int updateTurn;
+
     /**
      * Executes the auto-simulation of the game based on the given mission.
      * The simulation ends when the mission is completed or the player dies.
@@ -31,6 +62,7 @@ public class AutoSimulation extends Simulation {
         importer.importCurrentMissionData();
 
         currentNetwork = mission.getMissionMap().getMap();
+        roomWeights = null;
 
         boolean gameOver = false;
 
@@ -50,29 +82,115 @@ public class AutoSimulation extends Simulation {
     /**
      * Updates the edge weights of the mission's network graph based on room conditions.
      *
-     * This method recalculates the weights of all edges in the network, representing the
-     * difficulty or desirability of moving between rooms based on their conditions (e.g.,
-     * presence of enemies, items, and nearby threats). The weights are updated using
-     * the `calculateRoomWeight` method.
+     * The weights represent the difficulty or desirability of moving between rooms based on their
+     * conditions (e.g., presence of enemies, items, and nearby threats) and are calculated with
+     * the `calculateRoomWeight` method. The edge between two rooms takes the weight of the room
+     * with the lower index.
+     *
+     * A room weight only depends on the room and on the rooms up to two connections away, so only
+     * the rooms near a room that changed since the last turn are re-weighted. Every room is re-weighted
+     * on the first turn, when rooms are added or removed, and when the player health or the number of
+     * enemies alive crosses a threshold that every room weight depends on.
      *
      * @param mission the mission for which the network is being updated.
      */
     private static void updateCurrentNetwork(Mission mission) {
-        ArrayUnorderedList<Room> missionRooms = currentNetwork.getVertices();
-
-        for (int i = 0; i < missionRooms.size(); i++) {
-            Room currentRoom = missionRooms.getByIndex(i);  
-            for (int j = 0; j < missionRooms.size(); j++) {
-                Room nextRoom = missionRooms.getByIndex(j);
-                // If there is a connection between the rooms
-                if (currentNetwork.getEdgeWeight(currentRoom, nextRoom) != Double.POSITIVE_INFINITY) {
-                    double edgeWeigth = calculateRoomWeight(mission, nextRoom);
-                    currentNetwork.addEdge(currentRoom, nextRoom, edgeWeigth);
+        LinkedHashList<Room> changedRooms = takeChangedRooms();
+        int numberOfRooms = currentNetwork.indexBound();
+        boolean lowHealth = mission.getPlayer().getLife() <= 50;
+        boolean withEnemies = missionHasEnemies(mission);
+
+        if (roomWeights == null || roomWeights.length != numberOfRooms || weightedRooms != currentNetwork.size()
+                || lowHealth != weightsForLowHealth || withEnemies != weightsWithEnemies) {
+            roomWeights = new double[numberOfRooms];
+            visitedInTurn = new int[numberOfRooms];
+            updateTurn = 0;
+            weightedRooms = currentNetwork.size();
+            weightsForLowHealth = lowHealth;
+            weightsWithEnemies = withEnemies;
+
+            // the slots of removed rooms keep no weight and no edges
+            for (int i = 0; i < numberOfRooms; i++) {
+                if (!currentNetwork.isRemoved(i)) {
+                    roomWeights[i] = calculateRoomWeight(mission, currentNetwork.getVertex(i));
+                }
+            }
+            for (int i = 0; i < numberOfRooms; i++) {
+                if (!currentNetwork.isRemoved(i)) {
+                    updateRoomEdges(i);
                 }
             }
+            return;
+        }
+
+        updateTurn++;
+        for (Room changedRoom : changedRooms) {
+            int changedIndex = currentNetwork.getIndex(changedRoom);
+            if (changedIndex == -1) {
+                continue;
+            }
+
+            // the changed room, its neighbours and the neighbours of its neighbours
+            reweightRoom(mission, changedIndex);
+            for (int k = 0; k < currentNetwork.degree(changedIndex); k++) {
+                int neighbourIndex = currentNetwork.neighbour(changedIndex, k);
+                reweightRoom(mission, neighbourIndex);
+
+                for (int j = 0; j < currentNetwork.degree(neighbourIndex); j++) {
+                    reweightRoom(mission, currentNetwork.neighbour(neighbourIndex, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recalculates the weight of a room once per update and, if it changed, the weights of its edges.
+     *
+     * @param mission the current mission.
+     * @param roomIndex the index of the room in the network.
+     */
+    private static void reweightRoom(Mission mission, int roomIndex) {
+        if (visitedInTurn[roomIndex] == updateTurn) {
+            return;
+        }
+        visitedInTurn[roomIndex] = updateTurn;
+
+        double weight = calculateRoomWeight(mission, currentNetwork.getVertex(roomIndex));
+        if (weight != roomWeights[roomIndex]) {
+            roomWeights[roomIndex] = weight;
+            updateRoomEdges(roomIndex);
+        }
+    }
+
+    /**
+     * Sets the weight of the edges from a room to the rooms with a higher or equal index to the weight of the room.
+     *
+     * @param roomIndex the index of the room in the network.
+     */
+    private static void updateRoomEdges(int roomIndex) {
+        for (int k = 0; k < currentNetwork.degree(roomIndex); k++) {
+            int neighbourIndex = currentNetwork.neighbour(roomIndex, k);
+            if (neighbourIndex >= roomIndex) {
+                currentNetwork.addEdge(roomIndex, neighbourIndex, roomWeights[roomIndex]);
+            }
         }
     }
 
+    /**
+     * Checks if there are any enemies left alive in the mission.
+     *
+     * @param mission the current mission.
+     * @return true if at least one enemy is alive, false otherwise.
+     */
+    private static boolean missionHasEnemies(Mission mission) {
+        for (Enemy enemy : mission.getEnemies()) {
+            if (enemy != null && enemy.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Calculates the weight of a room based on its conditions.
      *
@@ -91,15 +209,8 @@ public class AutoSimulation extends Simulation {
     public static double calculateRoomWeight(Mission mission, Room room) {
         double roomWeight = 0;
 
-        // Check if there are any enemies left in the mission
-        boolean missionHasEnemies = false;
-        for (Enemy enemy : mission.getEnemies()) {
-            if (enemy != null && enemy.isAlive()) {
-                missionHasEnemies = true;
-            }
-        }
         // If all enemies are dead, return a default cost of 1
-        if (!missionHasEnemies) {
+        if (!missionHasEnemies(mission)) {
             return 1;
         }
 
@@ -150,15 +261,20 @@ public class AutoSimulation extends Simulation {
      */
     public static int numberOfEnemiesInTheSurrounds(Mission mission, Room room) {
         int enemiesInSurrounds = 0;
+        Network<Room> map = mission.getMissionMap().getMap();
+        int roomIndex = map.getIndex(room);
 
         // Iterate through neighboring rooms
-        for (Room neighbour : mission.getMissionMap().getMap().getNeighbours(room)) {
-            if (neighbour != null && neighbour.hasEnemies()) {
+        for (int k = 0; k < map.degree(roomIndex); k++) {
+            int neighbourIndex = map.neighbour(roomIndex, k);
+            Room neighbour = map.getVertex(neighbourIndex);
+            if (neighbour.hasEnemies()) {
                 enemiesInSurrounds += neighbour.getEnemies().size();
 
                 //Checks if there is enemies in the neighbour of neighbour(risk of random moves)
-                for (Room neighbourOfNeighbour : mission.getMissionMap().getMap().getNeighbours(neighbour)) {
-                    if (neighbourOfNeighbour != null && neighbourOfNeighbour.hasEnemies()) {
+                for (int j = 0; j < map.degree(neighbourIndex); j++) {
+                    Room neighbourOfNeighbour = map.getVertex(map.neighbour(neighbourIndex, j));
+                    if (neighbourOfNeighbour.hasEnemies()) {
                         enemiesInSurrounds += neighbourOfNeighbour.getEnemies().size();
                     }
                 }
@@ -371,16 +487,28 @@ public class AutoSimulation extends Simulation {
      * @return the best entrance/exit room for the player.
      */
     public static Room getBestEntranceToMove(Mission mission) {
-        return getBestRoom(mission.getEntriesAndExits(), mission.getTarget().getCurrentRoom());
+        if (mission.getTarget().getCurrentRoom() == null || !canReachAnExit(mission.getTarget().getCurrentRoom(), mission)) {
+            return null;
+        }
+
+        // the network is undirected, so the entrance closest to the target ends the nearest path grown from the target
+        ArrayUnorderedList<Room> path = currentNetwork.nearestPath(mission.getTarget().getCurrentRoom(), mission.getEntriesAndExits());
+        return path.isEmpty() ? null : path.last();
     }
 
     /**
      * Calculates the best path for the player to reach the target's room.
+     * The path is searched again every turn. A tree repaired from the changed edges would not save the
+     * search: rooms holding uncollected items have negative weights, and the repair then falls back to a
+     * full recomputation. When the player is cut off from the target no search is run at all.
      *
      * @param mission the current mission containing the player and the target.
-     * @return a list of rooms representing the best path to the target.
+     * @return a list of rooms representing the best path to the target, empty if there is none.
      */
     public static ArrayUnorderedList<Room> getBestPathToTarget(Mission mission) {
+        if (!currentNetwork.isReachable(mission.getPlayer().getCurrentRoom(), mission.getTarget().getCurrentRoom())) {
+            return new ArrayUnorderedList<>();
+        }
         return currentNetwork.shortestPath(mission.getPlayer().getCurrentRoom(), mission.getTarget().getCurrentRoom());
     }
 
@@ -388,57 +516,30 @@ public class AutoSimulation extends Simulation {
      * Calculates the best path for the player to reach the nearest exit room.
      *
      * @param mission the current mission containing the player and rooms.
-     * @return a list of rooms representing the best path to an exit.
+     * @return a list of rooms representing the best path to an exit, empty if there is none.
      */
     public static ArrayUnorderedList<Room> getBestPathToExit(Mission mission) {
-        Room bestExit = getBestRoom(mission.getEntriesAndExits(), mission.getPlayer().getCurrentRoom());
-
-        return bestExit != null ? currentNetwork.shortestPath(mission.getPlayer().getCurrentRoom(), bestExit) : null;
-    }
-
-
-    /**
-     * Finds the best room from a list of rooms based on the shortest path to a target room.
-     *
-     * @param rooms  the list of candidate rooms.
-     * @param target the target room to evaluate against.
-     * @return the best room with the shortest path to the target.
-     */
-    private static Room getBestRoom(ArrayUnorderedList<Room> rooms, Room target) {
-        if (rooms == null || target == null) {
-            return null;
+        if (!canReachAnExit(mission.getPlayer().getCurrentRoom(), mission)) {
+            return new ArrayUnorderedList<>();
         }
-
-        Room bestRoom = null;
-        double shortestWeight = Double.POSITIVE_INFINITY;
-
-        for (Room room : rooms) {
-            if (room != null) {
-                ArrayUnorderedList<Room> path = currentNetwork.shortestPath(room, target);
-                double pathWeight = calculatePathWeight(path);
-                if (!path.isEmpty() && pathWeight < shortestWeight) {
-                    shortestWeight = pathWeight;
-                    bestRoom = room;
-                }
-            }
-        }
-        return bestRoom;
+        return currentNetwork.nearestPath(mission.getPlayer().getCurrentRoom(), mission.getEntriesAndExits());
     }
 
     /**
-     * Calculates the total weight of a path between rooms.
+     * Checks if a room is connected to any entrance or exit, so searches that could not find one are skipped.
+     * Each check is answered in O(1) by the connectivity index of the network.
      *
-     * @param path the list of rooms representing the path.
-     * @return the total weight of the path.
+     * @param room the room
+     * @param mission the current mission containing the entrances and exits.
+     * @return true if an exit can be reached from the room, false otherwise
      */
-    private static double calculatePathWeight(ArrayUnorderedList<Room> path) {
-        double totalWeight = 0;
-
-        for (int i = 1; i < path.size(); i++) {
-            totalWeight += currentNetwork.getEdgeWeight(path.getByIndex(i - 1), path.getByIndex(i));
+    private static boolean canReachAnExit(Room room, Mission mission) {
+        for (Room exit : mission.getEntriesAndExits()) {
+            if (currentNetwork.isReachable(room, exit)) {
+                return true;
+            }
         }
-
-        return totalWeight;
+        return false;
     }
 
     /**
@@ -454,18 +555,19 @@ public class AutoSimulation extends Simulation {
 
         for (Enemy enemy : enemies) {
             if (enemy != null && enemy.isAlive()) {
-                Room currentRoom = enemy.getCurrentRoom();
-                ArrayUnorderedList<Room> neighbours = mission.getMissionMap().getMap().getNeighbours(currentRoom);
+                Network<Room> map = mission.getMissionMap().getMap();
+                int roomIndex = map.getIndex(enemy.getCurrentRoom());
 
                 //random between 1 and maxEnemyMoves
                 int moves = rand.nextInt(maxEnemyMoves) + 1;
 
                 for (int i = 0; i < moves; i++) {
-                    if (neighbours.isEmpty()) {
+                    int degree = map.degree(roomIndex);
+                    if (degree == 0) {
                         break;
                     }
 
-                    Room nextRoom = neighbours.getByIndex(rand.nextInt(neighbours.size()));
+                    Room nextRoom = map.getVertex(map.neighbour(roomIndex, rand.nextInt(degree)));
                     moveEnemyToRoom(mission, enemy, nextRoom);
 
                     //if the nextRoom have the Player the enemy has priority to attack
@@ -475,7 +577,7 @@ public class AutoSimulation extends Simulation {
                         break;
                     }
 
-                    neighbours = mission.getMissionMap().getMap().getNeighbours(nextRoom);
+                    roomIndex = map.getIndex(nextRoom);
                 }
             }
         }
@@ -496,6 +598,8 @@ public class AutoSimulation extends Simulation {
         } else {
             throw new IllegalArgumentException("Invalid priority entity.");
         }
+        // enemies in the room were hurt or killed
+        markRoomChanged(priorityEntity.getCurrentRoom());
     }
 
     /**
@@ -1,6 +1,8 @@
 package game.mission;
 
 import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.Network;
+import dataStructures.implementations.ShortestPathTree;
 import game.character.Enemy;
 import game.character.Entity;
 import game.character.Player;
@@ -35,6 +37,11 @@ public class ManualSimulation extends Simulation{
      */
     private static ArrayUnorderedList<Room> simulationRoute;
 
+    /**
+     * The breadth first tree reused when printing the best paths.
+     */
+    private static ShortestPathTree<Room> pathTree = new ShortestPathTree<>();
+
     /**
      * Simulates the mission gameplay manually by allowing the player to interact with the mission.
      *
@@ -450,18 +457,19 @@ public class ManualSimulation extends Simulation{
 
         for (Enemy enemy : enemies) {
             if(enemy != null && enemy.isAlive()){
-                Room currentRoom = enemy.getCurrentRoom();
-                ArrayUnorderedList<Room> neighbours = mission.getMissionMap().getMap().getNeighbours(currentRoom);
+                Network<Room> map = mission.getMissionMap().getMap();
+                int roomIndex = map.getIndex(enemy.getCurrentRoom());
 
                 //random between 1 and maxEnemyMoves
                 int moves = rand.nextInt(maxEnemyMoves) + 1;
 
                 for (int i = 0; i < moves; i++) {
-                    if (neighbours.isEmpty()) {
+                    int degree = map.degree(roomIndex);
+                    if (degree == 0) {
                         break;
                     }
 
-                    Room nextRoom = neighbours.getByIndex(rand.nextInt(neighbours.size()));
+                    Room nextRoom = map.getVertex(map.neighbour(roomIndex, rand.nextInt(degree)));
                     moveEnemyToRoom(mission, enemy, nextRoom);
 
                     //if the nextRoom have the Player the enemy has priority to attack
@@ -471,7 +479,7 @@ public class ManualSimulation extends Simulation{
                         break;
                     }
 
-                    neighbours = mission.getMissionMap().getMap().getNeighbours(nextRoom);
+                    roomIndex = map.getIndex(nextRoom);
                 }
             }
         }
@@ -503,26 +511,21 @@ public class ManualSimulation extends Simulation{
     private static void printBestPathToHealthKit(Mission mission) {
         ArrayUnorderedList<Item> missionItems = mission.getItems();
         HealthKit targetHealthKit = null;
-        int shortestDistance = Integer.MAX_VALUE;
+        double shortestDistance = Double.POSITIVE_INFINITY;
         Room targetRoom = null;
 
+        // one breadth first tree from the player answers the distance to every health kit
+        mission.getMissionMap().getMap().breadthFirstTree(mission.getPlayer().getCurrentRoom(), pathTree);
+
         for (Item item : missionItems) {
             if (item != null && !item.isPickedUp()){
                 if(item instanceof HealthKit){
                     HealthKit healthKit = (HealthKit) item;
                     Room healthKitRoom = healthKit.getCurrentRoom();
 
-                    Iterator it = mission.getMissionMap().getMap().iteratorShortestPath(mission.getPlayer().getCurrentRoom(), healthKitRoom);
-
-                    int pathLength = 0;
-                    while (it.hasNext()) {
-                        Object current = it.next();
-                        if (current != null) {
-                            pathLength++;
-                        }
-                    }
+                    double pathLength = pathTree.distanceTo(healthKitRoom);
 
-                    if (pathLength > 0 && pathLength < shortestDistance) {
+                    if (pathLength < shortestDistance) {
                         shortestDistance = pathLength;
                         targetHealthKit = healthKit;
                         targetRoom = healthKitRoom;
@@ -532,7 +535,7 @@ public class ManualSimulation extends Simulation{
         }
 
         if (targetHealthKit != null) {
-            Iterator it = mission.getMissionMap().getMap().iteratorShortestPath(mission.getPlayer().getCurrentRoom(), targetRoom);
+            Iterator it = pathTree.pathTo(targetRoom).iterator();
 
             System.out.println("Best path to the health kit:");
             while (it.hasNext()) {
@@ -53,6 +53,7 @@ public class Mission implements IMission {
 
     /**
      * Initializes or updates the singleton instance of the Mission class with the provided data.
+     * The rooms marked as changed by a previous simulation are forgotten.
      *
      * @param missionCode The unique identifier for the mission.
      * @param version The version of the mission.
@@ -76,6 +77,7 @@ public class Mission implements IMission {
             instance.missionMap = missionMap;
             instance.entriesAndExits = entriesAndExits;
         }
+        Simulation.clearChangedRooms();
     }
 
     /**
@@ -1,6 +1,7 @@
 package game.mission;
 
 import dataStructures.implementations.ArrayUnorderedList;
+import dataStructures.implementations.LinkedHashList;
 import game.character.Enemy;
 import game.character.Player;
 import game.items.Item;
@@ -11,6 +12,40 @@ import game.map.Room;
  * between rooms, and filtering enemies based on their locations relative to the player.
  */
 public class Simulation {
+    /**
+     * The rooms whose contents changed since the last call to {@link #takeChangedRooms()}.
+     * A room is in the list at most once, and the hash index of the list finds it without a scan.
+     */
+    private static LinkedHashList<Room> changedRooms = new LinkedHashList<>();
+
+    /**
+     * Records that the contents of a room changed, so anything derived from the room can be recalculated.
+     *
+     * @param room the room that changed
+     */
+    protected static void markRoomChanged(Room room) {
+        if (room != null && (changedRooms.isEmpty() || !changedRooms.contains(room))) {
+            changedRooms.addToRear(room);
+        }
+    }
+
+    /**
+     * Returns the rooms that changed since the last call and starts a new empty record.
+     *
+     * @return the rooms that changed
+     */
+    protected static LinkedHashList<Room> takeChangedRooms() {
+        LinkedHashList<Room> rooms = changedRooms;
+        changedRooms = new LinkedHashList<>();
+        return rooms;
+    }
+
+    /**
+     * Forgets the rooms that changed, so the changes of one mission are not carried into the next.
+     */
+    static void clearChangedRooms() {
+        changedRooms = new LinkedHashList<>();
+    }
 
     /**
      * Moves the player to a specified room.
@@ -29,18 +64,26 @@ public class Simulation {
 
         if (currentRoom != null) {
             currentRoom.removePlayer();
+            markRoomChanged(currentRoom);
         }
         player.setCurrentRoom(room);
+        markRoomChanged(room);
         player.getCurrentRoom().setPlayer(player);
 
         System.out.println("Player Moved To " + room.getName());
 
 
+        // collecting an item removes it from the room, so iterate over a copy
+        ArrayUnorderedList<Item> roomItems = new ArrayUnorderedList<>(player.getCurrentRoom().getItems().size() + 1);
         for(Item item : player.getCurrentRoom().getItems()){
             if(item != null){
-                player.collectItem(item);
+                roomItems.addToRear(item);
             }
         }
+
+        for(Item item : roomItems){
+            player.collectItem(item);
+        }
     }
 
     /**
@@ -61,9 +104,11 @@ public class Simulation {
 
         if (currentRoom != null) {
             enemy.getCurrentRoom().removeEnemy(enemy);
+            markRoomChanged(currentRoom);
         }
         enemy.setCurrentRoom(room);
         enemy.getCurrentRoom().addEnemy(enemy);
+        markRoomChanged(room);
     }
 
     /**
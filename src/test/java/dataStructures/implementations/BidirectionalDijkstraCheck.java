@@ -0,0 +1,225 @@
+package dataStructures.implementations;
+
+import java.util.Random;
+
+/**
+ * Differential check of the bidirectional point-to-point queries of {@link Network} on randomly generated networks.
+ *
+ * Every network is built and changed by random edge additions, edge removals and vertex removals, mirrored in a
+ * weight matrix. After the changes, {@link Network#shortestPathWeight(Object, Object)} and
+ * {@link Network#shortestPath(Object, Object)} are asked for random pairs of vertices. With non-negative weights
+ * the weight must be the one Bellman-Ford finds on the matrix, and the path must start and end at the right
+ * vertices, use only edges of the matrix and add up to that weight. With a negative edge the queries fall back
+ * to the one-sided search, so the weight must be the one of {@link Network#shortestPathTree}.
+ *
+ * Run with the main classes on the class path:
+ * {@code java dataStructures.implementations.BidirectionalDijkstraCheck}.
+ * Exits with an AssertionError on the first difference.
+ */
+public class BidirectionalDijkstraCheck {
+    /**
+     * The number of networks generated.
+     */
+    private static final int NETWORKS = 2000;
+
+    /**
+     * The number of pairs of vertices asked for on each network.
+     */
+    private static final int QUERIES = 20;
+
+    /**
+     * Runs the check.
+     *
+     * @param args the seed of the generator, 1 if none is given
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        Random random = new Random(seed);
+        int queries = 0;
+
+        for (int t = 0; t < NETWORKS; t++) {
+            int n = 1 + random.nextInt(40);
+            int mode = t % 4;
+            Network<Integer> network = t % 2 == 0 ? new Network<>() : new CSRNetwork<>(1 + random.nextInt(3));
+            double[][] weight = new double[n][n];
+            boolean[] removed = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                network.addVertex(Integer.valueOf(i));
+                for (int j = 0; j < n; j++) {
+                    weight[i][j] = Double.POSITIVE_INFINITY;
+                }
+            }
+
+            int changes = random.nextInt(4 * n + 1);
+            for (int k = 0; k < changes; k++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (removed[a] || removed[b] || a == b) {
+                    continue;
+                }
+
+                int change = random.nextInt(20);
+                if (change < 14) {
+                    double w = randomWeight(random, mode);
+                    network.addEdge(Integer.valueOf(a), Integer.valueOf(b), w);
+                    weight[a][b] = w;
+                    weight[b][a] = w;
+                } else if (change < 19) {
+                    network.removeEdge(Integer.valueOf(a), Integer.valueOf(b));
+                    weight[a][b] = Double.POSITIVE_INFINITY;
+                    weight[b][a] = Double.POSITIVE_INFINITY;
+                } else {
+                    network.removeVertex(Integer.valueOf(a));
+                    removed[a] = true;
+                    for (int j = 0; j < n; j++) {
+                        weight[a][j] = Double.POSITIVE_INFINITY;
+                        weight[j][a] = Double.POSITIVE_INFINITY;
+                    }
+                }
+            }
+
+            boolean negative = false;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    negative |= weight[i][j] < 0;
+                }
+            }
+
+            for (int q = 0; q < QUERIES; q++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                check(t, network, weight, removed, negative, from, to);
+                queries++;
+            }
+        }
+
+        System.out.println("OK: " + queries + " queries on " + NETWORKS + " networks");
+    }
+
+    /**
+     * Returns a random weight.
+     *
+     * @param random the generator
+     * @param mode the kind of weights: 0 small integers with zeros, 1 reals, 2 some negatives, 3 all ones
+     * @return the weight
+     */
+    private static double randomWeight(Random random, int mode) {
+        switch (mode) {
+            case 0:
+                return random.nextInt(10);
+            case 1:
+                return random.nextDouble() * 100;
+            case 2:
+                return random.nextInt(12) - 1;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Checks one query against the reference.
+     *
+     * @param t the number of the network
+     * @param network the network
+     * @param weight the weight of each edge, Double.POSITIVE_INFINITY where there is none
+     * @param removed whether each vertex was removed
+     * @param negative whether the network has a negative edge
+     * @param from the vertex the path starts at
+     * @param to the vertex the path ends at
+     * @throws AssertionError if the query differs from the reference
+     */
+    private static void check(int t, Network<Integer> network, double[][] weight, boolean[] removed,
+                              boolean negative, int from, int to) {
+        String query = "network " + t + ", " + from + " to " + to + ": ";
+        double got = network.shortestPathWeight(Integer.valueOf(from), Integer.valueOf(to));
+        ArrayUnorderedList<Integer> path = network.shortestPath(Integer.valueOf(from), Integer.valueOf(to));
+
+        double expected;
+        if (removed[from] || removed[to]) {
+            expected = Double.POSITIVE_INFINITY;
+        } else if (negative) {
+            ShortestPathTree<Integer> tree = network.shortestPathTree(Integer.valueOf(from), new ShortestPathTree<>());
+            expected = tree.distanceTo(Integer.valueOf(to));
+        } else {
+            expected = bellmanFord(weight, removed, from)[to];
+        }
+
+        if (!close(got, expected)) {
+            throw new AssertionError(query + "weight " + got + " instead of " + expected);
+        }
+        if (expected == Double.POSITIVE_INFINITY) {
+            if (!path.isEmpty()) {
+                throw new AssertionError(query + "path found where there is none");
+            }
+            return;
+        }
+
+        if (path.isEmpty() || path.first() != from || path.last() != to) {
+            throw new AssertionError(query + "path does not join the vertices");
+        }
+        double sum = 0;
+        Integer previous = null;
+        for (Integer vertex : path) {
+            if (previous != null) {
+                if (weight[previous][vertex] == Double.POSITIVE_INFINITY) {
+                    throw new AssertionError(query + "path uses a missing edge " + previous + "-" + vertex);
+                }
+                sum += weight[previous][vertex];
+            }
+            previous = vertex;
+        }
+        if (!close(sum, got)) {
+            throw new AssertionError(query + "path adds up to " + sum + " instead of " + got);
+        }
+    }
+
+    /**
+     * Computes the distances from a vertex with Bellman-Ford on the weight matrix.
+     *
+     * @param weight the weight of each edge, Double.POSITIVE_INFINITY where there is none
+     * @param removed whether each vertex was removed
+     * @param source the vertex the distances are measured from
+     * @return the distance to each vertex, Double.POSITIVE_INFINITY if it cannot be reached
+     */
+    private static double[] bellmanFord(double[][] weight, boolean[] removed, int source) {
+        int n = weight.length;
+        double[] distance = new double[n];
+        for (int i = 0; i < n; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+        }
+        distance[source] = 0;
+
+        for (int round = 1; round < n; round++) {
+            boolean changed = false;
+            for (int u = 0; u < n; u++) {
+                if (removed[u] || distance[u] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int v = 0; v < n; v++) {
+                    if (!removed[v] && distance[u] + weight[u][v] < distance[v]) {
+                        distance[v] = distance[u] + weight[u][v];
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Checks if two weights are the same up to the rounding of adding them in a different order.
+     *
+     * @param a the first weight
+     * @param b the second weight
+     * @return true if the weights are the same, false otherwise
+     */
+    private static boolean close(double a, double b) {
+        if (a == b) {
+            return true;
+        }
+        return Math.abs(a - b) <= 1e-9 * Math.max(1, Math.abs(b));
+    }
+}
@@ -0,0 +1,141 @@
+package dataStructures.implementations;
+
+import java.util.Random;
+
+/**
+ * Differential check of {@link DeltaStepping} against {@link Network}'s Dijkstra on randomly generated networks.
+ *
+ * Every network is searched from its first vertex with {@link Network#shortestPathTree} and directly with
+ * {@link DeltaStepping#shortestPathTree}. Whenever the delta-stepping search completes, the distances must be
+ * the same bit for bit and the predecessors must be the same vertex for vertex. A search that reports a tie
+ * or a negative edge is checked through {@link Network#parallelShortestPathTree}, which must then give the tree
+ * of Dijkstra's algorithm. The networks mix the matrix and CSR storages, integer, real, zero and negative
+ * weights, removed vertices, and a few networks large enough for the phases to run in parallel.
+ *
+ * Run with the main classes on the class path: {@code java dataStructures.implementations.DeltaSteppingCheck}.
+ * Exits with an AssertionError on the first difference.
+ */
+public class DeltaSteppingCheck {
+    /**
+     * The number of networks generated.
+     */
+    private static final int NETWORKS = 300;
+
+    /**
+     * The number of the last networks generated that are large.
+     */
+    private static final int LARGE_NETWORKS = 6;
+
+    /**
+     * Runs the check.
+     *
+     * @param args the seed of the generator, 11 if none is given
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 11;
+        Random random = new Random(seed);
+        int compared = 0;
+        int fellBack = 0;
+
+        for (int t = 0; t < NETWORKS; t++) {
+            boolean large = t >= NETWORKS - LARGE_NETWORKS;
+            int mode = t % 6;
+            Network<Integer> network = randomNetwork(random, large, t % 3 == 0 && !large, mode);
+            if (t % 7 == 0 && network.size() > 3) {
+                network.setAutoCompaction(false);
+                network.removeVertex(Integer.valueOf(1));
+            }
+
+            Integer source = network.getVertices().first();
+            int sourceIndex = network.getIndex(source);
+            ShortestPathTree<Integer> expected = network.shortestPathTree(source, new ShortestPathTree<>());
+
+            double[] distance = new double[network.numVertices];
+            int[] predecessor = new int[network.numVertices];
+            network.firstEdge(sourceIndex);
+            if (DeltaStepping.shortestPathTree(network, sourceIndex, distance, predecessor)) {
+                compare(t, network, expected, distance, predecessor);
+                compared++;
+            } else {
+                ShortestPathTree<Integer> fallback = network.parallelShortestPathTree(source, new ShortestPathTree<>());
+                compare(t, network, expected, fallback.distance, fallback.predecessor);
+                fellBack++;
+            }
+        }
+
+        System.out.println("OK: " + compared + " networks matched by delta-stepping, "
+                + fellBack + " left to Dijkstra's algorithm");
+    }
+
+    /**
+     * Builds a random network.
+     *
+     * @param random the generator
+     * @param large whether the network is large enough to be searched in parallel
+     * @param matrix whether the network keeps its edges in the adjacency matrix instead of CSR arrays
+     * @param mode the kind of weights: 0 small integers with zeros, 1 reals, 2 some negatives,
+     *             3 all ones, 4 tiny and huge reals, 5 small positive integers
+     * @return the network
+     */
+    private static Network<Integer> randomNetwork(Random random, boolean large, boolean matrix, int mode) {
+        int n = large ? 6000 + random.nextInt(20000) : 1 + random.nextInt(120);
+        Network<Integer> network = matrix ? new Network<>() : new CSRNetwork<>();
+        for (int i = 0; i < n; i++) {
+            network.addVertex(Integer.valueOf(i));
+        }
+
+        int edges = n * (1 + random.nextInt(4));
+        for (int k = 0; k < edges; k++) {
+            double weight;
+            switch (mode) {
+                case 0:
+                    weight = random.nextInt(4);
+                    break;
+                case 1:
+                    weight = random.nextDouble() * 100;
+                    break;
+                case 2:
+                    weight = (random.nextInt(20) - 4) * 0.05 + 0.2;
+                    break;
+                case 3:
+                    weight = 1;
+                    break;
+                case 4:
+                    weight = random.nextDouble() * 1e-3 + (random.nextInt(5) == 0 ? 1e6 : 0);
+                    break;
+                default:
+                    weight = 1 + random.nextInt(9);
+                    break;
+            }
+            network.addEdge(Integer.valueOf(random.nextInt(n)), Integer.valueOf(random.nextInt(n)), weight);
+        }
+        return network;
+    }
+
+    /**
+     * Compares a tree with the one computed by Dijkstra's algorithm.
+     *
+     * @param t the number of the network
+     * @param network the network
+     * @param expected the tree computed by Dijkstra's algorithm
+     * @param distance the distances to compare
+     * @param predecessor the predecessors to compare
+     * @throws AssertionError if a distance or a predecessor differs
+     */
+    private static void compare(int t, Network<Integer> network, ShortestPathTree<Integer> expected,
+                                double[] distance, int[] predecessor) {
+        for (int v = 0; v < network.numVertices; v++) {
+            if (network.isRemoved(v)) {
+                continue;
+            }
+            if (Double.doubleToLongBits(expected.distance[v]) != Double.doubleToLongBits(distance[v])) {
+                throw new AssertionError("network " + t + ", vertex " + v + ": distance "
+                        + distance[v] + " instead of " + expected.distance[v]);
+            }
+            if (expected.predecessor[v] != predecessor[v]) {
+                throw new AssertionError("network " + t + ", vertex " + v + ": predecessor "
+                        + predecessor[v] + " instead of " + expected.predecessor[v]);
+            }
+        }
+    }
+}
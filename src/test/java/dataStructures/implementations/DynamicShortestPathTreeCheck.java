@@ -0,0 +1,189 @@
+package dataStructures.implementations;
+
+import java.util.Random;
+
+/**
+ * Differential check of {@link DynamicShortestPathTree} against a full Dijkstra on randomly generated networks.
+ *
+ * Every network gets a tree and then a series of batches of random weight changes made through
+ * {@link DynamicShortestPathTree#updateEdge(int, int, double)}, with removed edges, new edges and, on some
+ * networks, negative weights. Some batches also change the network directly with addEdge and removeEdge,
+ * which the tree must notice on its own, and some move the source. After every batch the distance to every
+ * vertex must be the one {@link Network#shortestPathTree} computes from scratch, and the paths read with
+ * {@link DynamicShortestPathTree#pathTo(int)} and {@link DynamicShortestPathTree#pathFrom(Object)} must
+ * join the vertices and add up to that distance. The weights are small integers, so the sums are exact.
+ *
+ * Run with the main classes on the class path:
+ * {@code java dataStructures.implementations.DynamicShortestPathTreeCheck}.
+ * Exits with an AssertionError on the first difference.
+ */
+public class DynamicShortestPathTreeCheck {
+    /**
+     * The number of networks generated.
+     */
+    private static final int NETWORKS = 400;
+
+    /**
+     * The number of batches of changes made to each network.
+     */
+    private static final int BATCHES = 60;
+
+    /**
+     * Runs the check.
+     *
+     * @param args the seed of the generator, 7 if none is given
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 7;
+        Random random = new Random(seed);
+        int batches = 0;
+
+        for (int t = 0; t < NETWORKS; t++) {
+            int n = 2 + random.nextInt(40);
+            boolean negative = t % 4 == 0;
+            Network<Integer> network = t % 2 == 0 ? new Network<>() : new CSRNetwork<>(1 + random.nextInt(3));
+            for (int i = 0; i < n; i++) {
+                network.addVertex(Integer.valueOf(i));
+            }
+            for (int k = 0; k < 2 * n; k++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b) {
+                    network.addEdge(Integer.valueOf(a), Integer.valueOf(b), random.nextInt(10));
+                }
+            }
+
+            DynamicShortestPathTree<Integer> tree = new DynamicShortestPathTree<>(network);
+            tree.setSource(Integer.valueOf(random.nextInt(n)));
+
+            for (int batch = 0; batch < BATCHES; batch++) {
+                int changes = random.nextInt(6);
+                for (int c = 0; c < changes; c++) {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n);
+                    if (a != b) {
+                        tree.updateEdge(a, b, randomWeight(random, negative));
+                    }
+                }
+
+                if (random.nextInt(5) == 0) {
+                    changeDirectly(random, network, n, negative);
+                }
+                if (random.nextInt(20) == 0) {
+                    tree.setSource(Integer.valueOf(random.nextInt(n)));
+                }
+
+                compare("network " + t + ", batch " + batch, network, tree);
+                batches++;
+            }
+        }
+
+        System.out.println("OK: " + batches + " batches of changes on " + NETWORKS + " networks");
+    }
+
+    /**
+     * Returns a random weight for a change.
+     *
+     * @param random the generator
+     * @param negative whether the weight may be negative
+     * @return the weight, Double.POSITIVE_INFINITY to remove the edge
+     */
+    private static double randomWeight(Random random, boolean negative) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (negative && kind == 1) {
+            return -1;
+        }
+        return random.nextInt(10);
+    }
+
+    /**
+     * Changes an edge of the network without going through the tree.
+     *
+     * @param random the generator
+     * @param network the network
+     * @param n the number of vertices
+     * @param negative whether the weight may be negative
+     */
+    private static void changeDirectly(Random random, Network<Integer> network, int n, boolean negative) {
+        int a = random.nextInt(n);
+        int b = random.nextInt(n);
+        if (a == b) {
+            return;
+        }
+
+        switch (random.nextInt(3)) {
+            case 0:
+                double weight = randomWeight(random, negative);
+                if (weight != Double.POSITIVE_INFINITY) {
+                    network.addEdge(Integer.valueOf(a), Integer.valueOf(b), weight);
+                }
+                break;
+            case 1:
+                network.addEdge(Integer.valueOf(a), Integer.valueOf(b));
+                break;
+            default:
+                network.removeEdge(Integer.valueOf(a), Integer.valueOf(b));
+                break;
+        }
+    }
+
+    /**
+     * Compares the tree with one computed from scratch.
+     *
+     * @param what the batch, for the message
+     * @param network the network
+     * @param tree the tree
+     * @throws AssertionError if a distance differs or a path is wrong
+     */
+    private static void compare(String what, Network<Integer> network, DynamicShortestPathTree<Integer> tree) {
+        ShortestPathTree<Integer> expected = network.shortestPathTree(tree.getSource(), new ShortestPathTree<>());
+
+        for (int v = 0; v < network.indexBound(); v++) {
+            double distance = tree.distanceTo(v);
+            if (distance != expected.distanceTo(v)) {
+                throw new AssertionError(what + ", vertex " + v + ": distance " + distance
+                        + " instead of " + expected.distanceTo(v));
+            }
+            if (distance == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            ArrayUnorderedList<Integer> path = tree.pathTo(v);
+            if (path.isEmpty() || !path.first().equals(tree.getSource()) || path.last() != v) {
+                throw new AssertionError(what + ", vertex " + v + ": path does not join the vertices");
+            }
+            double sum = pathWeight(network, path);
+            if (sum != distance) {
+                throw new AssertionError(what + ", vertex " + v + ": path adds up to " + sum
+                        + " instead of " + distance);
+            }
+
+            ArrayUnorderedList<Integer> back = tree.pathFrom(Integer.valueOf(v));
+            if (back.size() != path.size() || back.first() != v || !back.last().equals(tree.getSource())) {
+                throw new AssertionError(what + ", vertex " + v + ": path back does not join the vertices");
+            }
+        }
+    }
+
+    /**
+     * Adds up the weights of the edges of a path.
+     *
+     * @param network the network
+     * @param path the vertices of the path
+     * @return the weight of the path
+     */
+    private static double pathWeight(Network<Integer> network, ArrayUnorderedList<Integer> path) {
+        double sum = 0;
+        Integer previous = null;
+        for (Integer vertex : path) {
+            if (previous != null) {
+                sum += network.getEdgeWeight(previous, vertex);
+            }
+            previous = vertex;
+        }
+        return sum;
+    }
+}
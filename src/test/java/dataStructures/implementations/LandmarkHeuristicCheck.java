@@ -0,0 +1,220 @@
+package dataStructures.implementations;
+
+import java.util.Random;
+
+/**
+ * Differential check of {@link LandmarkHeuristic} and the A* queries of {@link Network} on randomly generated
+ * networks whose edges keep changing after the heuristic was built.
+ *
+ * Every network gets a heuristic and then a series of changes mirrored in a weight matrix: weights set with
+ * {@link Network#addEdge(Object, Object, double)}, some of them reported to the heuristic and some not, edges
+ * added with the two-argument {@link Network#addEdge(Object, Object)}, and edges removed. After each change the
+ * estimate for random pairs of vertices must not exceed the distance Bellman-Ford finds on the matrix, and
+ * {@link Network#shortestPath(Object, Object, dataStructures.ADTS.HeuristicADT)} must return a path of that
+ * weight. The weights are never negative.
+ *
+ * Run with the main classes on the class path: {@code java dataStructures.implementations.LandmarkHeuristicCheck}.
+ * Exits with an AssertionError on the first difference.
+ */
+public class LandmarkHeuristicCheck {
+    /**
+     * The number of networks generated.
+     */
+    private static final int NETWORKS = 600;
+
+    /**
+     * The number of changes made to each network after its heuristic was built.
+     */
+    private static final int CHANGES = 40;
+
+    /**
+     * The number of pairs of vertices asked for after each change.
+     */
+    private static final int QUERIES = 3;
+
+    /**
+     * Runs the check.
+     *
+     * @param args the seed of the generator, 1 if none is given
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        Random random = new Random(seed);
+        int queries = 0;
+
+        checkUnweightedEdge(new Network<>());
+        checkUnweightedEdge(new CSRNetwork<>());
+
+        for (int t = 0; t < NETWORKS; t++) {
+            int n = 2 + random.nextInt(40);
+            Network<Integer> network = t % 2 == 0 ? new Network<>() : new CSRNetwork<>(1 + random.nextInt(3));
+            double[][] weight = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                network.addVertex(Integer.valueOf(i));
+                for (int j = 0; j < n; j++) {
+                    weight[i][j] = Double.POSITIVE_INFINITY;
+                }
+            }
+            for (int k = 0; k < 2 * n; k++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b) {
+                    setWeight(network, weight, a, b, random.nextInt(10));
+                }
+            }
+
+            LandmarkHeuristic<Integer> heuristic = new LandmarkHeuristic<>(network, 1 + random.nextInt(4));
+            heuristic.setSlack(t % 3 == 0);
+
+            for (int c = 0; c < CHANGES; c++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b) {
+                    double old = weight[a][b];
+                    int change = random.nextInt(10);
+                    if (change < 4) {
+                        double changed = random.nextInt(10);
+                        setWeight(network, weight, a, b, changed);
+                        heuristic.edgeChanged(old, changed);
+                    } else if (change < 7) {
+                        setWeight(network, weight, a, b, random.nextInt(10));
+                    } else if (change < 9) {
+                        network.addEdge(Integer.valueOf(a), Integer.valueOf(b));
+                        weight[a][b] = 0;
+                        weight[b][a] = 0;
+                    } else {
+                        network.removeEdge(Integer.valueOf(a), Integer.valueOf(b));
+                        weight[a][b] = Double.POSITIVE_INFINITY;
+                        weight[b][a] = Double.POSITIVE_INFINITY;
+                    }
+                }
+
+                for (int q = 0; q < QUERIES; q++) {
+                    check("network " + t + ", change " + c, network, heuristic, weight,
+                            random.nextInt(n), random.nextInt(n));
+                    queries++;
+                }
+            }
+        }
+
+        System.out.println("OK: " + queries + " queries on " + NETWORKS + " networks");
+    }
+
+    /**
+     * Checks that an edge added without a weight is seen by a heuristic built before it.
+     *
+     * @param network an empty network
+     * @throws AssertionError if the estimate exceeds the new distance
+     */
+    private static void checkUnweightedEdge(Network<String> network) {
+        network.addVertex("a");
+        network.addVertex("b");
+        network.addVertex("c");
+        network.addEdge("a", "b", 10);
+        network.addEdge("b", "c", 10);
+        network.addEdge("a", "c", 50);
+
+        LandmarkHeuristic<String> heuristic = new LandmarkHeuristic<>(network, 2);
+        heuristic.estimate("a", "c");
+        network.addEdge("a", "c");
+        if (heuristic.estimate("a", "c") > 0) {
+            throw new AssertionError(network.getClass().getSimpleName() + ": estimate "
+                    + heuristic.estimate("a", "c") + " for an edge of weight 0");
+        }
+    }
+
+    /**
+     * Sets the weight of an edge in the network and in the matrix.
+     *
+     * @param network the network
+     * @param weight the weight matrix
+     * @param a the first vertex
+     * @param b the second vertex
+     * @param value the weight of the edge
+     */
+    private static void setWeight(Network<Integer> network, double[][] weight, int a, int b, double value) {
+        network.addEdge(Integer.valueOf(a), Integer.valueOf(b), value);
+        weight[a][b] = value;
+        weight[b][a] = value;
+    }
+
+    /**
+     * Checks the estimate and the A* path between two vertices against the reference.
+     *
+     * @param what the query, for the message
+     * @param network the network
+     * @param heuristic the heuristic of the network
+     * @param weight the weight of each edge, Double.POSITIVE_INFINITY where there is none
+     * @param from the vertex the path starts at
+     * @param to the vertex the path ends at
+     * @throws AssertionError if the estimate is too large or the path is not a shortest one
+     */
+    private static void check(String what, Network<Integer> network, LandmarkHeuristic<Integer> heuristic,
+                              double[][] weight, int from, int to) {
+        String query = what + ", " + from + " to " + to + ": ";
+        double expected = bellmanFord(weight, from)[to];
+
+        double estimate = heuristic.estimate(Integer.valueOf(from), Integer.valueOf(to));
+        if (estimate > expected + 1e-9) {
+            throw new AssertionError(query + "estimate " + estimate + " above the distance " + expected);
+        }
+
+        ArrayUnorderedList<Integer> path = network.shortestPath(Integer.valueOf(from), Integer.valueOf(to), heuristic);
+        if (expected == Double.POSITIVE_INFINITY) {
+            if (!path.isEmpty()) {
+                throw new AssertionError(query + "path found where there is none");
+            }
+            return;
+        }
+        if (path.isEmpty() || path.first() != from || path.last() != to) {
+            throw new AssertionError(query + "path does not join the vertices");
+        }
+
+        double sum = 0;
+        Integer previous = null;
+        for (Integer vertex : path) {
+            if (previous != null) {
+                sum += weight[previous][vertex];
+            }
+            previous = vertex;
+        }
+        if (Math.abs(sum - expected) > 1e-9) {
+            throw new AssertionError(query + "path adds up to " + sum + " instead of " + expected);
+        }
+    }
+
+    /**
+     * Computes the distances from a vertex with Bellman-Ford on the weight matrix.
+     *
+     * @param weight the weight of each edge, Double.POSITIVE_INFINITY where there is none
+     * @param source the vertex the distances are measured from
+     * @return the distance to each vertex, Double.POSITIVE_INFINITY if it cannot be reached
+     */
+    private static double[] bellmanFord(double[][] weight, int source) {
+        int n = weight.length;
+        double[] distance = new double[n];
+        for (int i = 0; i < n; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+        }
+        distance[source] = 0;
+
+        for (int round = 1; round < n; round++) {
+            boolean changed = false;
+            for (int u = 0; u < n; u++) {
+                if (distance[u] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int v = 0; v < n; v++) {
+                    if (distance[u] + weight[u][v] < distance[v]) {
+                        distance[v] = distance[u] + weight[u][v];
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,274 @@
+package dataStructures.implementations;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Differential check of the lazy {@link Graph#iteratorBFS} and {@link Graph#iteratorDFS} on randomly generated
+ * graphs.
+ *
+ * Every graph is built and changed by random edge additions, edge removals and vertex removals, mirrored in an
+ * adjacency matrix. The traversals from random vertices must return the same vertices in the same order as the
+ * eager traversals they replaced, which are run here on the matrix: both scan the neighbours of a vertex in
+ * the order of their indices in the graph. A traversal must also fail with a ConcurrentModificationException
+ * once a vertex is added while it is open.
+ *
+ * Run with the main classes on the class path: {@code java dataStructures.implementations.TraversalCheck}.
+ * Exits with an AssertionError on the first difference.
+ */
+public class TraversalCheck {
+    /**
+     * The number of graphs generated.
+     */
+    private static final int GRAPHS = 3000;
+
+    /**
+     * The number of traversals of each kind run on each graph.
+     */
+    private static final int TRAVERSALS = 5;
+
+    /**
+     * Runs the check.
+     *
+     * @param args the seed of the generator, 1 if none is given
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        Random random = new Random(seed);
+        int traversals = 0;
+
+        for (int t = 0; t < GRAPHS; t++) {
+            int n = 1 + random.nextInt(30);
+            Graph<Integer> graph;
+            switch (t % 3) {
+                case 0:
+                    graph = new Graph<>();
+                    break;
+                case 1:
+                    graph = new Network<>();
+                    break;
+                default:
+                    graph = new CSRNetwork<>(1 + random.nextInt(3));
+                    break;
+            }
+
+            boolean[][] adjacent = new boolean[n][n];
+            boolean[] removed = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(Integer.valueOf(i));
+            }
+
+            int changes = random.nextInt(3 * n + 1);
+            for (int k = 0; k < changes; k++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (removed[a] || removed[b]) {
+                    continue;
+                }
+
+                int change = random.nextInt(20);
+                if (change < 14) {
+                    graph.addEdge(Integer.valueOf(a), Integer.valueOf(b));
+                    adjacent[a][b] = true;
+                    adjacent[b][a] = true;
+                } else if (change < 19) {
+                    graph.removeEdge(Integer.valueOf(a), Integer.valueOf(b));
+                    adjacent[a][b] = false;
+                    adjacent[b][a] = false;
+                } else {
+                    graph.removeVertex(Integer.valueOf(a));
+                    removed[a] = true;
+                    for (int j = 0; j < n; j++) {
+                        adjacent[a][j] = false;
+                        adjacent[j][a] = false;
+                    }
+                }
+            }
+
+            for (int q = 0; q < TRAVERSALS; q++) {
+                int start = random.nextInt(n);
+                int[] order = byIndex(graph, removed);
+                compare("graph " + t + ", BFS from " + start, graph.iteratorBFS(Integer.valueOf(start)),
+                        breadthFirst(adjacent, removed, order, start));
+                compare("graph " + t + ", DFS from " + start, graph.iteratorDFS(Integer.valueOf(start)),
+                        depthFirst(adjacent, removed, order, start));
+                traversals += 2;
+            }
+
+            checkModification(t, graph, removed);
+        }
+
+        System.out.println("OK: " + traversals + " traversals on " + GRAPHS + " graphs");
+    }
+
+    /**
+     * Returns the vertices that were not removed, in the order of their indices in the graph.
+     *
+     * @param graph the graph
+     * @param removed whether each vertex was removed
+     * @return the vertices in index order
+     */
+    private static int[] byIndex(Graph<Integer> graph, boolean[] removed) {
+        int[] order = new int[removed.length];
+        int count = 0;
+        for (int index = 0; index < graph.indexBound(); index++) {
+            if (!graph.isRemoved(index)) {
+                order[count++] = graph.getVertex(index);
+            }
+        }
+
+        int[] exact = new int[count];
+        System.arraycopy(order, 0, exact, 0, count);
+        return exact;
+    }
+
+    /**
+     * Runs the eager breadth first traversal on the adjacency matrix.
+     *
+     * @param adjacent whether each pair of vertices is joined by an edge
+     * @param removed whether each vertex was removed
+     * @param order the vertices in the order their neighbours are scanned
+     * @param start the vertex the traversal starts at
+     * @return the vertices in the order they are visited
+     */
+    private static int[] breadthFirst(boolean[][] adjacent, boolean[] removed, int[] order, int start) {
+        int n = adjacent.length;
+        int[] result = new int[n];
+        int count = 0;
+        if (removed[start]) {
+            return new int[0];
+        }
+
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = true;
+
+        while (head < tail) {
+            int x = queue[head++];
+            result[count++] = x;
+            for (int i : order) {
+                if (adjacent[x][i] && !visited[i]) {
+                    queue[tail++] = i;
+                    visited[i] = true;
+                }
+            }
+        }
+
+        int[] exact = new int[count];
+        System.arraycopy(result, 0, exact, 0, count);
+        return exact;
+    }
+
+    /**
+     * Runs the eager depth first traversal on the adjacency matrix.
+     *
+     * @param adjacent whether each pair of vertices is joined by an edge
+     * @param removed whether each vertex was removed
+     * @param order the vertices in the order their neighbours are scanned
+     * @param start the vertex the traversal starts at
+     * @return the vertices in the order they are visited
+     */
+    private static int[] depthFirst(boolean[][] adjacent, boolean[] removed, int[] order, int start) {
+        int n = adjacent.length;
+        int[] result = new int[n];
+        int count = 0;
+        if (removed[start]) {
+            return new int[0];
+        }
+
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        stack[top++] = start;
+        result[count++] = start;
+        visited[start] = true;
+
+        while (top > 0) {
+            int x = stack[top - 1];
+            boolean found = false;
+            for (int i : order) {
+                if (adjacent[x][i] && !visited[i]) {
+                    stack[top++] = i;
+                    result[count++] = i;
+                    visited[i] = true;
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                top--;
+            }
+        }
+
+        int[] exact = new int[count];
+        System.arraycopy(result, 0, exact, 0, count);
+        return exact;
+    }
+
+    /**
+     * Compares a traversal with the expected order.
+     *
+     * @param what the traversal, for the message
+     * @param iterator the traversal
+     * @param expected the vertices in the order they must be returned
+     * @throws AssertionError if the orders differ
+     */
+    private static void compare(String what, Iterator<Integer> iterator, int[] expected) {
+        for (int k = 0; k < expected.length; k++) {
+            if (!iterator.hasNext()) {
+                throw new AssertionError(what + ": ended after " + k + " of " + expected.length + " vertices");
+            }
+            int vertex = iterator.next();
+            if (vertex != expected[k]) {
+                throw new AssertionError(what + ": vertex " + k + " is " + vertex + " instead of " + expected[k]);
+            }
+        }
+        if (iterator.hasNext()) {
+            throw new AssertionError(what + ": more than " + expected.length + " vertices");
+        }
+    }
+
+    /**
+     * Checks that open traversals fail once a vertex is added to the graph.
+     *
+     * @param t the number of the graph
+     * @param graph the graph
+     * @param removed whether each vertex was removed
+     * @throws AssertionError if a traversal goes on after the change
+     */
+    private static void checkModification(int t, Graph<Integer> graph, boolean[] removed) {
+        int start = 0;
+        while (start < removed.length && removed[start]) {
+            start++;
+        }
+        if (start == removed.length) {
+            return;
+        }
+
+        Iterator<Integer> bfs = graph.iteratorBFS(Integer.valueOf(start));
+        Iterator<Integer> dfs = graph.iteratorDFS(Integer.valueOf(start));
+        graph.addVertex(Integer.valueOf(removed.length));
+        checkFails("graph " + t + ", BFS", bfs);
+        checkFails("graph " + t + ", DFS", dfs);
+    }
+
+    /**
+     * Checks that a traversal fails with a ConcurrentModificationException on its next step.
+     *
+     * @param what the traversal, for the message
+     * @param iterator the traversal, opened before the graph changed
+     * @throws AssertionError if the traversal goes on
+     */
+    private static void checkFails(String what, Iterator<Integer> iterator) {
+        try {
+            iterator.next();
+            throw new AssertionError(what + ": traversal went on after a vertex was added");
+        } catch (ConcurrentModificationException expected) {
+            // the traversal noticed the change
+        }
+    }
+}